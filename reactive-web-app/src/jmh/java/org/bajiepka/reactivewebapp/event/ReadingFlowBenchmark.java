@@ -0,0 +1,72 @@
+package org.bajiepka.reactivewebapp.event;
+
+import org.bajiepka.reactivewebapp.model.Temperature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.context.support.StaticApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of handing one reading to one consumer: a {@link Temperature} published as an application event
+ * against the primitive ring of {@link TemperatureEventBus}. Both operations end once the consumer has seen the
+ * reading, the bus one waits for its consumer thread, so the scores include the hand-off between threads that
+ * the synchronous event does not have. Run with {@code -prof gc} and compare {@code gc.alloc.rate.norm}, the
+ * bytes allocated per reading.
+ * <p>
+ * Only the hop to the consumer is measured: the SSE and history endpoints still create a {@link Temperature}
+ * per reading they serialize.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadingFlowBenchmark {
+
+    private StaticApplicationContext context;
+    private TemperatureEventBus bus;
+    private volatile double eventSum;
+    private volatile double busSum;
+    private volatile long consumed = -1;
+    private long timestamp;
+
+    @Setup
+    public void setUp() {
+        context = new StaticApplicationContext();
+        context.addApplicationListener((ApplicationListener<PayloadApplicationEvent<Temperature>>) event ->
+                eventSum += event.getPayload().getValue());
+        context.refresh();
+
+        bus = new TemperatureEventBus(1024);
+        bus.subscribe("benchmark", (reading, sequence, endOfBatch) -> {
+            busSum += reading.getValue();
+            consumed = sequence;
+        });
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        context.close();
+        bus.shutdown();
+        bus.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    public void applicationEvent() {
+        long now = timestamp++;
+        context.publishEvent(new Temperature((int) (now & 1023), now, now * 0.5));
+    }
+
+    @Benchmark
+    public void eventBus() {
+        long now = timestamp++;
+        bus.publish((int) (now & 1023), now, now * 0.5);
+        long published = bus.getCursor();
+        while (consumed < published) {
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package org.bajiepka.reactivewebapp.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bajiepka.reactivewebapp.model.Temperature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CPU spent on broadcasting one reading to every client, writing through the message converters configured
+ * the way Spring Boot does, into a discarding stream.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BroadcastSerializationBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    private int clients;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<HttpMessageConverter<?>> converters = List.of(new ByteArrayHttpMessageConverter(),
+            stringConverter(), new MappingJackson2HttpMessageConverter(objectMapper));
+    private final DiscardingMessage response = new DiscardingMessage();
+
+    @Benchmark
+    public long serializePerClient() throws IOException {
+        Temperature temperature = nextReading();
+        for (int i = 0; i < clients; i++) {
+            write(SseEmitter.event().data(temperature, MediaType.APPLICATION_JSON));
+        }
+        return response.written;
+    }
+
+    @Benchmark
+    public long sharedFrame() throws IOException {
+        Temperature temperature = nextReading();
+        SseFrame frame = SseFrame.of(objectMapper, temperature);
+        for (int i = 0; i < clients; i++) {
+            write(frame);
+        }
+        return response.written;
+    }
+
+    private static StringHttpMessageConverter stringConverter() {
+        StringHttpMessageConverter converter = new StringHttpMessageConverter(StandardCharsets.UTF_8);
+        converter.setWriteAcceptCharset(false);
+        return converter;
+    }
+
+    private static Temperature nextReading() {
+        return new Temperature(1, System.currentTimeMillis(), ThreadLocalRandom.current().nextDouble(-10, 40));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void write(SseEmitter.SseEventBuilder event) throws IOException {
+        for (ResponseBodyEmitter.DataWithMediaType data : event.build()) {
+            for (HttpMessageConverter<?> converter : converters) {
+                if (converter.canWrite(data.getData().getClass(), data.getMediaType())) {
+                    response.headers.clear();
+                    ((HttpMessageConverter<Object>) converter).write(data.getData(), data.getMediaType(), response);
+                    break;
+                }
+            }
+        }
+    }
+
+    private static class DiscardingMessage extends OutputStream implements HttpOutputMessage {
+
+        private final HttpHeaders headers = new HttpHeaders();
+        private long written;
+
+        @Override
+        public OutputStream getBody() {
+            return this;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public void write(int b) {
+            written++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            written += len;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package org.bajiepka.reactivewebapp.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.aop.interceptor.SimpleAsyncUncaughtExceptionHandler;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Builds the @Async executor from the active {@link AsyncExecutorProperties} profile. It is a bean of its own, so
+ * it is started, measured and shut down with the context rather than on the first @Async call, and it can be
+ * injected as {@code asyncExecutor} where a task needs the same bounds. When a Micrometer registry is present the
+ * queue depth, pool size and active threads are exposed as gauges and the overflow handling as counters, all tagged
+ * with the profile name.
+ */
+@EnableAsync
+@Configuration
+@EnableConfigurationProperties(AsyncExecutorProperties.class)
+public class AsyncExecutorConfig implements AsyncConfigurer {
+
+    private final AsyncExecutorProperties properties;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public AsyncExecutorConfig(AsyncExecutorProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Executor getAsyncExecutor() {
+        return asyncExecutor();
+    }
+
+    /**
+     * Initialized by the container, so the pool behind it only exists once the bean is fully created.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor asyncExecutor() {
+        AsyncExecutorProperties.Profile profile = properties.activeProfile();
+        OverflowRejectionHandler rejectionHandler = new OverflowRejectionHandler(profile.getOverflowPolicy());
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("async-" + properties.getProfile() + "-");
+        executor.setCorePoolSize(profile.getCoreSize());
+        executor.setMaxPoolSize(Math.max(profile.getCoreSize(), profile.getMaxSize()));
+        executor.setQueueCapacity(profile.getQueueCapacity());
+        executor.setKeepAliveSeconds((int) profile.getKeepAlive().getSeconds());
+        executor.setRejectedExecutionHandler(rejectionHandler);
+
+        meterRegistry.ifAvailable(registry -> bindMetrics(registry, executor, rejectionHandler));
+        return executor;
+    }
+
+    @Override
+    public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
+        return new SimpleAsyncUncaughtExceptionHandler();
+    }
+
+    private void bindMetrics(MeterRegistry registry, ThreadPoolTaskExecutor pool,
+                             OverflowRejectionHandler rejectionHandler) {
+        Tags tags = Tags.of("profile", properties.getProfile());
+        Gauge.builder("async.executor.queue.depth", pool, AsyncExecutorConfig::queueDepth)
+                .tags(tags).register(registry);
+        Gauge.builder("async.executor.pool.size", pool, ThreadPoolTaskExecutor::getPoolSize)
+                .tags(tags).register(registry);
+        Gauge.builder("async.executor.active", pool, ThreadPoolTaskExecutor::getActiveCount)
+                .tags(tags).register(registry);
+        FunctionCounter.builder("async.executor.caller.runs", rejectionHandler,
+                OverflowRejectionHandler::getCallerRunsCount).tags(tags).register(registry);
+        FunctionCounter.builder("async.executor.shed", rejectionHandler, OverflowRejectionHandler::getShedCount)
+                .tags(tags).register(registry);
+    }
+
+    private static int queueDepth(ThreadPoolTaskExecutor executor) {
+        try {
+            return executor.getThreadPoolExecutor().getQueue().size();
+        } catch (IllegalStateException e) {
+            return 0;
+        }
+    }
+}
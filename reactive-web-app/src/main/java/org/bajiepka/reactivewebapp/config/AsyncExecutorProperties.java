@@ -0,0 +1,100 @@
+package org.bajiepka.reactivewebapp.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@ConfigurationProperties("async.executor")
+public class AsyncExecutorProperties {
+
+    /**
+     * Name of the profile used by the @Async executor.
+     */
+    private String profile = "default";
+
+    private Map<String, Profile> profiles = new LinkedHashMap<>();
+
+    public Profile activeProfile() {
+        return profiles.getOrDefault(profile, new Profile());
+    }
+
+    public String getProfile() {
+        return profile;
+    }
+
+    public void setProfile(String profile) {
+        this.profile = profile;
+    }
+
+    public Map<String, Profile> getProfiles() {
+        return profiles;
+    }
+
+    public void setProfiles(Map<String, Profile> profiles) {
+        this.profiles = profiles;
+    }
+
+    public enum OverflowPolicy {
+
+        /**
+         * The submitting thread runs the task itself, which slows the producer down to the pool's pace.
+         */
+        CALLER_RUNS,
+
+        /**
+         * The task is dropped and counted, a returned future is cancelled.
+         */
+        SHED
+    }
+
+    public static class Profile {
+
+        private int coreSize = 2;
+        private int maxSize = 2;
+        private int queueCapacity = 100;
+        private Duration keepAlive = Duration.ofSeconds(60);
+        private OverflowPolicy overflowPolicy = OverflowPolicy.CALLER_RUNS;
+
+        public int getCoreSize() {
+            return coreSize;
+        }
+
+        public void setCoreSize(int coreSize) {
+            this.coreSize = coreSize;
+        }
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public Duration getKeepAlive() {
+            return keepAlive;
+        }
+
+        public void setKeepAlive(Duration keepAlive) {
+            this.keepAlive = keepAlive;
+        }
+
+        public OverflowPolicy getOverflowPolicy() {
+            return overflowPolicy;
+        }
+
+        public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+            this.overflowPolicy = overflowPolicy;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package org.bajiepka.reactivewebapp.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties("temperature.stream.connections")
+public class ConnectionProperties {
+
+    /**
+     * Lifetime of one stream before the client has to reconnect, zero for none.
+     */
+    private Duration timeout = Duration.ofMinutes(30);
+
+    /**
+     * Quiet time after which a stream gets a heartbeat comment.
+     */
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+    /**
+     * Time without a completed write after which a stream is evicted, longer than the heartbeat interval.
+     */
+    private Duration idleTimeout = Duration.ofSeconds(60);
+
+    /**
+     * Open streams allowed per client address, further requests are answered with 429.
+     */
+    private int maxPerClient = 8;
+
+    /**
+     * Threads writing heartbeats and completing evicted streams, apart from the drain threads.
+     */
+    private int heartbeatThreads = 2;
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    public Duration getHeartbeatInterval() {
+        return heartbeatInterval;
+    }
+
+    public void setHeartbeatInterval(Duration heartbeatInterval) {
+        this.heartbeatInterval = heartbeatInterval;
+    }
+
+    public Duration getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public void setIdleTimeout(Duration idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+    public int getMaxPerClient() {
+        return maxPerClient;
+    }
+
+    public void setMaxPerClient(int maxPerClient) {
+        this.maxPerClient = maxPerClient;
+    }
+
+    public int getHeartbeatThreads() {
+        return heartbeatThreads;
+    }
+
+    public void setHeartbeatThreads(int heartbeatThreads) {
+        this.heartbeatThreads = heartbeatThreads;
+    }
+}
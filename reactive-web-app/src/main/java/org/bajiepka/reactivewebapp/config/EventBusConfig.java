@@ -0,0 +1,15 @@
+package org.bajiepka.reactivewebapp.config;
+
+import org.bajiepka.reactivewebapp.event.TemperatureEventBus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class EventBusConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    TemperatureEventBus temperatureEventBus(@Value("${temperature.bus.buffer-size:1024}") int bufferSize) {
+        return new TemperatureEventBus(bufferSize);
+    }
+}
@@ -0,0 +1,71 @@
+package org.bajiepka.reactivewebapp.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties("temperature.fleet")
+public class FleetProperties {
+
+    /**
+     * Simulate a fleet of sensors instead of the single TemperatureSensor.
+     */
+    private boolean enabled;
+
+    private int sensors = 1_000;
+
+    /**
+     * Mean time between two readings of one sensor.
+     */
+    private Duration interval = Duration.ofSeconds(1);
+
+    /**
+     * Random deviation of every interval, as a fraction of it.
+     */
+    private double jitter = 0.2;
+
+    /**
+     * Resolution of the shared scheduler.
+     */
+    private Duration tick = Duration.ofMillis(10);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getSensors() {
+        return sensors;
+    }
+
+    public void setSensors(int sensors) {
+        this.sensors = sensors;
+    }
+
+    public Duration getInterval() {
+        return interval;
+    }
+
+    public void setInterval(Duration interval) {
+        this.interval = interval;
+    }
+
+    public double getJitter() {
+        return jitter;
+    }
+
+    public void setJitter(double jitter) {
+        this.jitter = jitter;
+    }
+
+    public Duration getTick() {
+        return tick;
+    }
+
+    public void setTick(Duration tick) {
+        this.tick = tick;
+    }
+}
@@ -0,0 +1,57 @@
+package org.bajiepka.reactivewebapp.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Applies an {@link AsyncExecutorProperties.OverflowPolicy} to a saturated pool and counts how often it did.
+ * <p>
+ * Shedding cancels a submitted {@link Future}, which is what callers of {@code void}, {@code Future} and
+ * {@code ListenableFuture} @Async methods hold. The task behind a {@link CompletableFuture} @Async method is the
+ * {@code supplyAsync} step, whose future cannot be reached from here, so that one is rejected back to the caller
+ * with a {@link RejectedExecutionException} instead of leaving the future pending forever.
+ */
+public class OverflowRejectionHandler implements RejectedExecutionHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(OverflowRejectionHandler.class);
+
+    private final AsyncExecutorProperties.OverflowPolicy policy;
+    private final LongAdder callerRuns = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+
+    public OverflowRejectionHandler(AsyncExecutorProperties.OverflowPolicy policy) {
+        this.policy = policy;
+    }
+
+    @Override
+    public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+        if (policy == AsyncExecutorProperties.OverflowPolicy.CALLER_RUNS && !executor.isShutdown()) {
+            callerRuns.increment();
+            task.run();
+            return;
+        }
+        shed.increment();
+        if (task instanceof CompletableFuture.AsynchronousCompletionTask) {
+            throw new RejectedExecutionException("Shed task " + task + " from " + executor);
+        }
+        if (task instanceof Future) {
+            ((Future<?>) task).cancel(false);
+        }
+        log.debug("Shed task {}, {} shed so far", task, shed.sum());
+    }
+
+    public long getCallerRunsCount() {
+        return callerRuns.sum();
+    }
+
+    public long getShedCount() {
+        return shed.sum();
+    }
+}
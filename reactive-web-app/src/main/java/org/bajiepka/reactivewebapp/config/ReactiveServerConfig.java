@@ -0,0 +1,30 @@
+package org.bajiepka.reactivewebapp.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.bajiepka.reactivewebapp.controller.ReactiveTemperatureController;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Server of the reactive application type. Spring Web keeps Tomcat on the classpath and Spring Boot prefers it over
+ * Netty, so the Netty factory is declared explicitly.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveServerConfig {
+
+    @Bean
+    NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean
+    MeterBinder reactiveStreamMetrics(ReactiveTemperatureController controller) {
+        return registry -> FunctionCounter.builder("sse.streams.dropped", controller,
+                ReactiveTemperatureController::getDroppedCount)
+                .register(registry);
+    }
+}
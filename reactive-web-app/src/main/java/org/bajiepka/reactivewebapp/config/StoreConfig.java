@@ -0,0 +1,30 @@
+package org.bajiepka.reactivewebapp.config;
+
+import org.bajiepka.reactivewebapp.event.TemperatureEventBus;
+import org.bajiepka.reactivewebapp.store.SegmentStore;
+import org.bajiepka.reactivewebapp.store.TemperatureHistory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+
+@Configuration
+@EnableConfigurationProperties(StoreProperties.class)
+@ConditionalOnProperty(name = "temperature.store.enabled", havingValue = "true", matchIfMissing = true)
+public class StoreConfig {
+
+    @Bean(destroyMethod = "close")
+    SegmentStore segmentStore(StoreProperties properties, TemperatureEventBus bus) throws IOException {
+        SegmentStore store = new SegmentStore(properties.getDirectory(), properties.getRecordsPerSegment(),
+                properties.getMaxSegments(), properties.getRetention());
+        bus.subscribe("segment-store", store);
+        return store;
+    }
+
+    @Bean
+    TemperatureHistory temperatureHistory(SegmentStore segmentStore) {
+        return new TemperatureHistory(segmentStore);
+    }
+}
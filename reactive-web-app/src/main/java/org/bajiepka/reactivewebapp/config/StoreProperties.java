@@ -0,0 +1,90 @@
+package org.bajiepka.reactivewebapp.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+@ConfigurationProperties("temperature.store")
+public class StoreProperties {
+
+    /**
+     * Persist every reading and serve /temperature-history.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Directory of the segment files, relative to the working directory unless absolute. It is locked while the
+     * application runs, so two instances cannot share it.
+     */
+    private Path directory = Paths.get("data", "temperature-store");
+
+    /**
+     * Readings per segment file, 20 bytes each.
+     */
+    private int recordsPerSegment = 65_536;
+
+    /**
+     * Segments kept at most, the oldest are deleted first.
+     */
+    private int maxSegments = 64;
+
+    /**
+     * Segments whose newest reading is older are deleted, zero to limit by max-segments only.
+     */
+    private Duration retention = Duration.ofDays(7);
+
+    /**
+     * Readings returned by one range query at most.
+     */
+    private int maxQueryResults = 10_000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(Path directory) {
+        this.directory = directory;
+    }
+
+    public int getRecordsPerSegment() {
+        return recordsPerSegment;
+    }
+
+    public void setRecordsPerSegment(int recordsPerSegment) {
+        this.recordsPerSegment = recordsPerSegment;
+    }
+
+    public int getMaxSegments() {
+        return maxSegments;
+    }
+
+    public void setMaxSegments(int maxSegments) {
+        this.maxSegments = maxSegments;
+    }
+
+    public Duration getRetention() {
+        return retention;
+    }
+
+    public void setRetention(Duration retention) {
+        this.retention = retention;
+    }
+
+    public int getMaxQueryResults() {
+        return maxQueryResults;
+    }
+
+    public void setMaxQueryResults(int maxQueryResults) {
+        this.maxQueryResults = maxQueryResults;
+    }
+}
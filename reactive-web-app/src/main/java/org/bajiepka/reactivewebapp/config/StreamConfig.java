@@ -0,0 +1,91 @@
+package org.bajiepka.reactivewebapp.config;
+
+import org.bajiepka.reactivewebapp.stream.FanOutEngine;
+import org.bajiepka.reactivewebapp.stream.ReplayLog;
+import org.bajiepka.reactivewebapp.stream.SseConnectionManager;
+import org.bajiepka.reactivewebapp.stream.SseFrame;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+@EnableConfigurationProperties({StreamProperties.class, ConnectionProperties.class, FleetProperties.class})
+public class StreamConfig {
+
+    @Bean(destroyMethod = "shutdownNow")
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    ExecutorService streamDrainExecutor(StreamProperties properties) {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "stream-drain-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newFixedThreadPool(properties.getDrainThreads(), threadFactory);
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    FanOutEngine<SseFrame> temperatureFanOut(StreamProperties properties,
+                                             @Qualifier("streamDrainExecutor") ExecutorService drainExecutor) {
+        return new FanOutEngine<>(drainExecutor, properties.getBufferSize(),
+                properties.getOverflowPolicy(), properties.getMaxBatch());
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    FanOutEngine<SseFrame> summaryFanOut(StreamProperties properties,
+                                         @Qualifier("streamDrainExecutor") ExecutorService drainExecutor) {
+        return new FanOutEngine<>(drainExecutor, properties.getBufferSize(),
+                properties.getOverflowPolicy(), properties.getMaxBatch());
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    ReplayLog<SseFrame> temperatureReplayLog(StreamProperties properties) {
+        return new ReplayLog<>(properties.getReplayCapacity());
+    }
+
+    @Bean(destroyMethod = "shutdownNow")
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    ScheduledExecutorService streamHeartbeatTimer() {
+        return Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "stream-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Bean(destroyMethod = "shutdownNow")
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    ExecutorService streamHeartbeatExecutor(ConnectionProperties properties) {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "stream-heartbeat-writer-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newFixedThreadPool(properties.getHeartbeatThreads(), threadFactory);
+    }
+
+    /**
+     * The timer only decides which streams need a heartbeat, the heartbeat executor writes it. Neither is a drain
+     * thread, so a stuck client cannot stall the live streams.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    SseConnectionManager sseConnectionManager(ConnectionProperties properties,
+                                              ScheduledExecutorService streamHeartbeatTimer,
+                                              @Qualifier("streamHeartbeatExecutor") ExecutorService heartbeatExecutor) {
+        return new SseConnectionManager(streamHeartbeatTimer, heartbeatExecutor, properties.getTimeout(),
+                properties.getHeartbeatInterval(), properties.getIdleTimeout(), properties.getMaxPerClient());
+    }
+}
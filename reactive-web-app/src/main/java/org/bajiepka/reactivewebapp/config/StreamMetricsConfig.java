@@ -0,0 +1,31 @@
+package org.bajiepka.reactivewebapp.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.bajiepka.reactivewebapp.stream.SseConnectionManager;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Exposes the SSE connection lifecycle to the Micrometer registries, bound by Spring Boot when one is present.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class StreamMetricsConfig {
+
+    @Bean
+    MeterBinder sseConnectionMetrics(SseConnectionManager connections) {
+        return registry -> {
+            Gauge.builder("sse.streams.active", connections, SseConnectionManager::getActiveCount)
+                    .register(registry);
+            FunctionCounter.builder("sse.streams.opened", connections, SseConnectionManager::getOpenedCount)
+                    .register(registry);
+            FunctionCounter.builder("sse.streams.evicted", connections, SseConnectionManager::getEvictedCount)
+                    .register(registry);
+            FunctionCounter.builder("sse.streams.rejected", connections, SseConnectionManager::getRejectedCount)
+                    .register(registry);
+        };
+    }
+}
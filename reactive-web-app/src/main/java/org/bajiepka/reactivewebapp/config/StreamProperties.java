@@ -0,0 +1,70 @@
+package org.bajiepka.reactivewebapp.config;
+
+import org.bajiepka.reactivewebapp.stream.OverflowPolicy;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties("temperature.stream")
+public class StreamProperties {
+
+    /**
+     * Items buffered per client before the overflow policy applies.
+     */
+    private int bufferSize = 64;
+
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_OLDEST;
+
+    /**
+     * Threads sending buffered items to the clients.
+     */
+    private int drainThreads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Items sent to one client before its drain task yields to the other clients.
+     */
+    private int maxBatch = 16;
+
+    /**
+     * Recent events kept for clients resuming with Last-Event-ID, rounded up to a power of two.
+     */
+    private int replayCapacity = 1_024;
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    public int getDrainThreads() {
+        return drainThreads;
+    }
+
+    public void setDrainThreads(int drainThreads) {
+        this.drainThreads = drainThreads;
+    }
+
+    public int getMaxBatch() {
+        return maxBatch;
+    }
+
+    public void setMaxBatch(int maxBatch) {
+        this.maxBatch = maxBatch;
+    }
+
+    public int getReplayCapacity() {
+        return replayCapacity;
+    }
+
+    public void setReplayCapacity(int replayCapacity) {
+        this.replayCapacity = replayCapacity;
+    }
+}
@@ -0,0 +1,21 @@
+package org.bajiepka.reactivewebapp.config;
+
+import org.bajiepka.reactivewebapp.event.TemperatureEventBus;
+import org.bajiepka.reactivewebapp.window.WindowAggregator;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(WindowProperties.class)
+public class WindowConfig {
+
+    @Bean
+    WindowAggregator windowAggregator(WindowProperties properties, TemperatureEventBus bus) {
+        WindowAggregator aggregator = new WindowAggregator(properties.getPane().toMillis(),
+                properties.panesOf(properties.getTumbling()), properties.panesOf(properties.getSliding()),
+                properties.panesOf(properties.getSlide()));
+        bus.subscribe("window-aggregator", aggregator);
+        return aggregator;
+    }
+}
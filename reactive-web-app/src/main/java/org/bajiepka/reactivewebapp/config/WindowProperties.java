@@ -0,0 +1,59 @@
+package org.bajiepka.reactivewebapp.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties("temperature.window")
+public class WindowProperties {
+
+    /**
+     * Smallest unit of aggregation, window lengths and the slide are rounded to whole panes.
+     */
+    private Duration pane = Duration.ofSeconds(1);
+
+    private Duration tumbling = Duration.ofSeconds(10);
+
+    private Duration sliding = Duration.ofSeconds(60);
+
+    /**
+     * Time between two sliding windows.
+     */
+    private Duration slide = Duration.ofSeconds(5);
+
+    public Duration getPane() {
+        return pane;
+    }
+
+    public void setPane(Duration pane) {
+        this.pane = pane;
+    }
+
+    public Duration getTumbling() {
+        return tumbling;
+    }
+
+    public void setTumbling(Duration tumbling) {
+        this.tumbling = tumbling;
+    }
+
+    public Duration getSliding() {
+        return sliding;
+    }
+
+    public void setSliding(Duration sliding) {
+        this.sliding = sliding;
+    }
+
+    public Duration getSlide() {
+        return slide;
+    }
+
+    public void setSlide(Duration slide) {
+        this.slide = slide;
+    }
+
+    int panesOf(Duration window) {
+        return (int) Math.max(1, window.toMillis() / pane.toMillis());
+    }
+}
@@ -0,0 +1,92 @@
+package org.bajiepka.reactivewebapp.controller;
+
+import org.bajiepka.reactivewebapp.config.StreamProperties;
+import org.bajiepka.reactivewebapp.event.TemperatureEventBus;
+import org.bajiepka.reactivewebapp.event.TemperatureReading;
+import org.bajiepka.reactivewebapp.model.Temperature;
+import org.bajiepka.reactivewebapp.window.WindowAggregator;
+import org.bajiepka.reactivewebapp.window.WindowSummary;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.DirectProcessor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Non-blocking variant of {@link TemperatureController}, served by Netty with
+ * {@code spring.main.web-application-type=reactive}. Readings are multicast through a {@link DirectProcessor}, every
+ * stream applies its own backpressure strategy, so a slow client never holds back the processor or the other clients.
+ * Readings evicted by the drop-oldest buffers are counted as {@code sse.streams.dropped}.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveTemperatureController {
+
+    private final DirectProcessor<Temperature> processor = DirectProcessor.create();
+    private final FluxSink<Temperature> sink = processor.sink();
+    private final DirectProcessor<WindowSummary> summaryProcessor = DirectProcessor.create();
+    private final FluxSink<WindowSummary> summarySink = summaryProcessor.sink();
+    private final StreamProperties properties;
+    private final TemperatureEventBus bus;
+    private final WindowAggregator windows;
+    private final LongAdder dropped = new LongAdder();
+
+    public ReactiveTemperatureController(StreamProperties properties, TemperatureEventBus bus,
+                                         WindowAggregator windows) {
+        this.properties = properties;
+        this.bus = bus;
+        this.windows = windows;
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        bus.subscribe("reactive-stream", this::handleMessage);
+        windows.addListener(summarySink::next);
+    }
+
+    @GetMapping(value = "/temperature-stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Temperature>> events() {
+        return withOverflowPolicy(processor)
+                .map(temperature -> ServerSentEvent.builder(temperature).build());
+    }
+
+    @GetMapping(value = "/temperature-stream/summary", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<WindowSummary>> summaries() {
+        return withOverflowPolicy(summaryProcessor)
+                .map(summary -> ServerSentEvent.builder(summary).build());
+    }
+
+    public void handleMessage(TemperatureReading reading, long sequence, boolean endOfBatch) {
+        sink.next(new Temperature(reading.getSensorId(), reading.getTimestamp(), reading.getValue()));
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    @PreDestroy
+    public void complete() {
+        sink.complete();
+        summarySink.complete();
+    }
+
+    private <T> Flux<T> withOverflowPolicy(Flux<T> readings) {
+        switch (properties.getOverflowPolicy()) {
+            case CONFLATE_LATEST:
+                return readings.onBackpressureLatest();
+            case DISCONNECT:
+                return readings.onBackpressureBuffer(properties.getBufferSize());
+            default:
+                return readings.onBackpressureBuffer(properties.getBufferSize(),
+                        item -> dropped.increment(), BufferOverflowStrategy.DROP_OLDEST);
+        }
+    }
+}
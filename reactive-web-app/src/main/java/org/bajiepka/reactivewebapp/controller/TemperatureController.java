@@ -1,49 +1,110 @@
 package org.bajiepka.reactivewebapp.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bajiepka.reactivewebapp.event.TemperatureEventBus;
+import org.bajiepka.reactivewebapp.event.TemperatureReading;
 import org.bajiepka.reactivewebapp.model.Temperature;
-import org.springframework.context.event.EventListener;
-import org.springframework.http.MediaType;
-import org.springframework.scheduling.annotation.Async;
+import org.bajiepka.reactivewebapp.stream.FanOutEngine;
+import org.bajiepka.reactivewebapp.stream.ReplayLog;
+import org.bajiepka.reactivewebapp.stream.SseConnectionManager;
+import org.bajiepka.reactivewebapp.stream.SseFrame;
+import org.bajiepka.reactivewebapp.window.WindowAggregator;
+import org.bajiepka.reactivewebapp.window.WindowSummary;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import javax.annotation.PostConstruct;
 import javax.servlet.http.HttpServletRequest;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Set;
-import java.util.concurrent.CopyOnWriteArraySet;
+import java.io.UncheckedIOException;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class TemperatureController {
 
-    private final Set<SseEmitter> clients = new CopyOnWriteArraySet<>();
+    private final FanOutEngine<SseFrame> fanOut;
+    private final FanOutEngine<SseFrame> summaryFanOut;
+    private final ReplayLog<SseFrame> replayLog;
+    private final SseConnectionManager connections;
+    private final ObjectMapper objectMapper;
+    private final TemperatureEventBus bus;
+    private final WindowAggregator windows;
 
+    public TemperatureController(@Qualifier("temperatureFanOut") FanOutEngine<SseFrame> fanOut,
+                                 @Qualifier("summaryFanOut") FanOutEngine<SseFrame> summaryFanOut,
+                                 ReplayLog<SseFrame> replayLog, SseConnectionManager connections,
+                                 ObjectMapper objectMapper, TemperatureEventBus bus, WindowAggregator windows) {
+        this.fanOut = fanOut;
+        this.summaryFanOut = summaryFanOut;
+        this.replayLog = replayLog;
+        this.connections = connections;
+        this.objectMapper = objectMapper;
+        this.bus = bus;
+        this.windows = windows;
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        bus.subscribe("sse-fan-out", this::handleMessage);
+        windows.addListener(this::handleSummary);
+    }
+
+    /**
+     * A reconnecting client sends the id of the last event it received as {@code Last-Event-ID} and first gets
+     * the retained events after it. An unknown id, e.g. one from before a restart and thus of another epoch,
+     * resumes with live events only.
+     */
     @RequestMapping(value = "/temperature-stream", method = RequestMethod.GET)
-    public SseEmitter events(HttpServletRequest request) {
+    public SseEmitter events(HttpServletRequest request,
+                             @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        SseConnectionManager.Connection connection = connections.open(request.getRemoteAddr());
+        long resumeAfter = parseEventId(lastEventId);
+        if (resumeAfter == SseFrame.NO_ID) {
+            connection.attach(fanOut);
+        } else {
+            connection.resume(fanOut, replayLog, resumeAfter);
+        }
+        return connection.getEmitter();
+    }
 
-        SseEmitter emitter = new SseEmitter();
-        clients.add(emitter);
+    /**
+     * Tumbling and sliding window summaries, one event per closed window.
+     */
+    @RequestMapping(value = "/temperature-stream/summary", method = RequestMethod.GET)
+    public SseEmitter summaries(HttpServletRequest request) {
+        SseConnectionManager.Connection connection = connections.open(request.getRemoteAddr());
+        connection.attach(summaryFanOut);
+        return connection.getEmitter();
+    }
 
-        emitter.onTimeout(() -> clients.remove(emitter));
-        emitter.onCompletion(() -> clients.remove(emitter));
+    /**
+     * Serializes the reading once and only enqueues the frame for every client, the sending happens
+     * on the fan-out drain threads.
+     */
+    public void handleMessage(TemperatureReading reading, long sequence, boolean endOfBatch) {
+        Temperature temperature = new Temperature(reading.getSensorId(), reading.getTimestamp(), reading.getValue());
+        fanOut.publish(replayLog.append(id -> frameOf(temperature, id)));
+    }
 
-        return emitter;
+    public void handleSummary(WindowSummary summary) throws JsonProcessingException {
+        summaryFanOut.publish(SseFrame.of(objectMapper, summary));
+    }
 
+    private SseFrame frameOf(Temperature temperature, long id) {
+        try {
+            return SseFrame.of(objectMapper, temperature, id);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
-    @Async
-    @EventListener
-    public void handleMessage(Temperature temperature) {
-        List<SseEmitter> deadEmitters = new ArrayList<>();
-        clients.forEach(emitter -> {
-            try {
-                emitter.send(temperature, MediaType.APPLICATION_JSON);
-            } catch (Exception ignore) {
-                deadEmitters.add(emitter);
-            }
-        });
-        clients.removeAll(deadEmitters);
+    private long parseEventId(String lastEventId) {
+        long id = SseFrame.parseId(lastEventId);
+        return id <= replayLog.getLastId() ? id : SseFrame.NO_ID;
     }
 }
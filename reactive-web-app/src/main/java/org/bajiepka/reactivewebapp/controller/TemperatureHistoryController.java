@@ -0,0 +1,55 @@
+package org.bajiepka.reactivewebapp.controller;
+
+import org.bajiepka.reactivewebapp.config.StoreProperties;
+import org.bajiepka.reactivewebapp.model.Temperature;
+import org.bajiepka.reactivewebapp.store.TemperatureHistory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Range queries over the persisted readings, e.g. to backfill a chart before following /temperature-stream.
+ */
+@RestController
+@ConditionalOnProperty(name = "temperature.store.enabled", havingValue = "true", matchIfMissing = true)
+public class TemperatureHistoryController {
+
+    private final TemperatureHistory history;
+    private final StoreProperties properties;
+
+    public TemperatureHistoryController(TemperatureHistory history, StoreProperties properties) {
+        this.history = history;
+        this.properties = properties;
+    }
+
+    /**
+     * @param from   epoch milliseconds, inclusive, one hour before {@code to} by default
+     * @param to     epoch milliseconds, inclusive, now by default
+     * @param sensor sensor id, all sensors by default
+     * @param limit  at most {@code temperature.store.max-query-results}, which is also the default
+     * @throws ResponseStatusException with 503 when the async executor sheds the query
+     */
+    @GetMapping("/temperature-history")
+    public CompletableFuture<List<Temperature>> history(@RequestParam(value = "from", required = false) Long from,
+                                                        @RequestParam(value = "to", required = false) Long to,
+                                                        @RequestParam(value = "sensor", defaultValue = "-1") int sensor,
+                                                        @RequestParam(value = "limit", required = false) Integer limit) {
+        long end = to != null ? to : System.currentTimeMillis();
+        long start = from != null ? from : end - TimeUnit.HOURS.toMillis(1);
+        int maxResults = properties.getMaxQueryResults();
+        try {
+            return history.query(start, end, sensor,
+                    limit != null ? Math.max(0, Math.min(limit, maxResults)) : maxResults);
+        } catch (TaskRejectedException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "History queries are saturated", e);
+        }
+    }
+}
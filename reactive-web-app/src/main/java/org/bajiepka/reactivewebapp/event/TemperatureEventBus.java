@@ -0,0 +1,230 @@
+package org.bajiepka.reactivewebapp.event;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Disruptor-style bus for sensor readings: a pre-allocated ring, one writer and any number of consumers,
+ * each on its own thread with its own sequence. Publishing stores the value into the next slot and
+ * advances the cursor with an ordered write, consumers process everything up to the cursor in one batch.
+ * Nothing is allocated per reading and every consumer sees the readings in publication order.
+ * <p>
+ * The ring is kept as parallel primitive arrays, so it holds no objects at all and a batch is read from contiguous
+ * memory. Every consumer reads it through its own flyweight {@link TemperatureReading} moved from index to index.
+ * <p>
+ * {@link #publish} must only be called from a single thread. When the slowest consumer is a whole ring behind,
+ * the writer waits for it.
+ */
+public class TemperatureEventBus {
+
+    private static final Logger log = LoggerFactory.getLogger(TemperatureEventBus.class);
+
+    private static final int SPIN_TRIES = 100;
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final int[] sensorIds;
+    private final long[] timestamps;
+    private final double[] values;
+    private final int mask;
+    private final Sequence cursor = new Sequence(-1);
+    private volatile Consumer[] consumers = new Consumer[0];
+    private long cachedGatingSequence = -1;
+    private volatile boolean shutdown;
+
+    public TemperatureEventBus(int bufferSize) {
+        if (bufferSize <= 0 || Integer.bitCount(bufferSize) != 1) {
+            throw new IllegalArgumentException("buffer size must be a power of two");
+        }
+        this.sensorIds = new int[bufferSize];
+        this.timestamps = new long[bufferSize];
+        this.values = new double[bufferSize];
+        this.mask = bufferSize - 1;
+    }
+
+    /**
+     * Starts a consumer thread that receives every reading published from now on.
+     */
+    public synchronized void subscribe(String name, TemperatureHandler handler) {
+        if (shutdown) {
+            throw new IllegalStateException("Event bus is shut down");
+        }
+        Consumer consumer = new Consumer(name, handler, cursor.get());
+        Consumer[] extended = Arrays.copyOf(consumers, consumers.length + 1);
+        extended[consumers.length] = consumer;
+        consumers = extended;
+        consumer.thread.start();
+    }
+
+    public void publish(int sensorId, long timestamp, double value) {
+        long next = cursor.get() + 1;
+        waitForCapacity(next);
+
+        int index = (int) (next & mask);
+        sensorIds[index] = sensorId;
+        timestamps[index] = timestamp;
+        values[index] = value;
+        cursor.lazySet(next);
+
+        for (Consumer consumer : consumers) {
+            if (consumer.waiting) {
+                LockSupport.unpark(consumer.thread);
+            }
+        }
+    }
+
+    public long getCursor() {
+        return cursor.get();
+    }
+
+    public int getBufferSize() {
+        return values.length;
+    }
+
+    /**
+     * Stops the consumers once they have processed everything published so far.
+     */
+    public void shutdown() {
+        shutdown = true;
+        for (Consumer consumer : consumers) {
+            LockSupport.unpark(consumer.thread);
+        }
+    }
+
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (Consumer consumer : consumers) {
+            long millis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (millis <= 0) {
+                return false;
+            }
+            consumer.thread.join(millis);
+            if (consumer.thread.isAlive()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void waitForCapacity(long next) {
+        long wrapPoint = next - values.length;
+        if (wrapPoint <= cachedGatingSequence) {
+            return;
+        }
+        int tries = 0;
+        long gating;
+        while (wrapPoint > (gating = minimumSequence(next - 1))) {
+            backOff(tries++);
+        }
+        cachedGatingSequence = gating;
+    }
+
+    private long minimumSequence(long minimum) {
+        for (Consumer consumer : consumers) {
+            minimum = Math.min(minimum, consumer.sequence.get());
+        }
+        return minimum;
+    }
+
+    private static void backOff(int tries) {
+        if (tries < SPIN_TRIES) {
+            Thread.onSpinWait();
+        } else {
+            LockSupport.parkNanos(Math.min(MAX_PARK_NANOS, 1L << Math.min(tries - SPIN_TRIES, 20)));
+        }
+    }
+
+    private final class Flyweight implements TemperatureReading {
+
+        private int index;
+
+        @Override
+        public int getSensorId() {
+            return sensorIds[index];
+        }
+
+        @Override
+        public long getTimestamp() {
+            return timestamps[index];
+        }
+
+        @Override
+        public double getValue() {
+            return values[index];
+        }
+    }
+
+    private final class Consumer implements Runnable {
+
+        private final TemperatureHandler handler;
+        private final Flyweight reading = new Flyweight();
+        private final Sequence sequence;
+        private final Thread thread;
+        private volatile boolean waiting;
+
+        private Consumer(String name, TemperatureHandler handler, long initialSequence) {
+            this.handler = handler;
+            this.sequence = new Sequence(initialSequence);
+            this.thread = new Thread(this, "temperature-bus-" + name);
+            this.thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            long next = sequence.get() + 1;
+            while (true) {
+                long available = cursor.get();
+                if (available >= next) {
+                    for (long current = next; current <= available; current++) {
+                        dispatch(current, current == available);
+                    }
+                    sequence.lazySet(available);
+                    next = available + 1;
+                } else if (shutdown) {
+                    return;
+                } else {
+                    idle(next);
+                }
+            }
+        }
+
+        private void dispatch(long current, boolean endOfBatch) {
+            try {
+                reading.index = (int) (current & mask);
+                handler.onReading(reading, current, endOfBatch);
+            } catch (Exception e) {
+                log.warn("Handler of {} failed on reading {}", thread.getName(), current, e);
+            }
+        }
+
+        private void idle(long next) {
+            waiting = true;
+            try {
+                if (cursor.get() < next && !shutdown) {
+                    LockSupport.parkNanos(this, MAX_PARK_NANOS);
+                }
+            } finally {
+                waiting = false;
+            }
+        }
+    }
+
+    /**
+     * Sequence padded to its own cache line, so the writer and the consumers do not false-share.
+     */
+    @SuppressWarnings("unused")
+    private static final class Sequence extends AtomicLong {
+
+        private static final long serialVersionUID = 1L;
+
+        private long p1, p2, p3, p4, p5, p6, p7;
+
+        private Sequence(long initialValue) {
+            super(initialValue);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package org.bajiepka.reactivewebapp.event;
+
+@FunctionalInterface
+public interface TemperatureHandler {
+
+    /**
+     * @param endOfBatch true for the last reading currently available, a good moment to flush
+     */
+    void onReading(TemperatureReading reading, long sequence, boolean endOfBatch) throws Exception;
+}
@@ -0,0 +1,17 @@
+package org.bajiepka.reactivewebapp.event;
+
+/**
+ * Read-only view of a sensor reading. Instances handed out by {@link TemperatureEventBus} are reused,
+ * copy the values to keep them beyond the handler call.
+ */
+public interface TemperatureReading {
+
+    int getSensorId();
+
+    /**
+     * @return epoch milliseconds of the measurement
+     */
+    long getTimestamp();
+
+    double getValue();
+}
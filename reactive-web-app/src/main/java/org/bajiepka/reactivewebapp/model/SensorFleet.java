@@ -0,0 +1,91 @@
+package org.bajiepka.reactivewebapp.model;
+
+import org.bajiepka.reactivewebapp.config.FleetProperties;
+import org.bajiepka.reactivewebapp.event.TemperatureEventBus;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Simulates many sensors on one scheduler thread, which is also the single writer of the event bus.
+ * Every tick publishes the readings of all sensors that are due, so the cost per tick is one pass over
+ * primitive arrays and nothing is allocated per reading. Each sensor drifts around its own base temperature,
+ * its next reading is due after the configured interval plus or minus the jitter.
+ */
+@Component
+@ConditionalOnProperty(name = "temperature.fleet.enabled", havingValue = "true")
+public class SensorFleet {
+
+    private final TemperatureEventBus bus;
+    private final FleetProperties properties;
+    private final SplittableRandom random = new SplittableRandom();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "sensor-fleet");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final double[] base;
+    private final double[] values;
+    private final long[] nextDueNanos;
+    private final long intervalNanos;
+    private final long jitterNanos;
+
+    public SensorFleet(TemperatureEventBus bus, FleetProperties properties) {
+        if (properties.getSensors() <= 0) {
+            throw new IllegalArgumentException("sensors must be positive");
+        }
+        this.bus = bus;
+        this.properties = properties;
+        this.base = new double[properties.getSensors()];
+        this.values = new double[properties.getSensors()];
+        this.nextDueNanos = new long[properties.getSensors()];
+        this.intervalNanos = properties.getInterval().toNanos();
+        this.jitterNanos = (long) (intervalNanos * Math.min(1, Math.max(0, properties.getJitter())));
+    }
+
+    @PostConstruct
+    public void startProcessing() {
+        long now = System.nanoTime();
+        for (int sensor = 0; sensor < base.length; sensor++) {
+            base[sensor] = random.nextDouble(0, 30);
+            values[sensor] = base[sensor];
+            nextDueNanos[sensor] = now + random.nextLong(Math.max(1, intervalNanos));
+        }
+        long tick = properties.getTick().toNanos();
+        executor.scheduleAtFixedRate(this::tick, tick, tick, TimeUnit.NANOSECONDS);
+    }
+
+    @PreDestroy
+    public void stopProcessing() {
+        executor.shutdownNow();
+    }
+
+    public int getSensorCount() {
+        return base.length;
+    }
+
+    private void tick() {
+        long now = System.nanoTime();
+        long timestamp = System.currentTimeMillis();
+        for (int sensor = 0; sensor < values.length; sensor++) {
+            if (nextDueNanos[sensor] <= now) {
+                bus.publish(sensor, timestamp, probe(sensor));
+                nextDueNanos[sensor] = now + intervalNanos
+                        + (jitterNanos > 0 ? random.nextLong(-jitterNanos, jitterNanos) : 0);
+            }
+        }
+    }
+
+    private double probe(int sensor) {
+        double drift = random.nextDouble(-0.5, 0.5) + (base[sensor] - values[sensor]) * 0.1;
+        values[sensor] += drift;
+        return values[sensor];
+    }
+}
@@ -2,12 +2,24 @@ package org.bajiepka.reactivewebapp.model;
 
 public class Temperature {
 
+    private final int sensorId;
+    private final long timestamp;
     private final double value;
 
-    public Temperature(double value) {
+    public Temperature(int sensorId, long timestamp, double value) {
+        this.sensorId = sensorId;
+        this.timestamp = timestamp;
         this.value = value;
     }
 
+    public int getSensorId() {
+        return sensorId;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
     public double getValue() {
         return value;
     }
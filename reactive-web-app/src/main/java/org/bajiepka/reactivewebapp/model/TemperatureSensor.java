@@ -1,6 +1,7 @@
 package org.bajiepka.reactivewebapp.model;
 
-import org.springframework.context.ApplicationEventPublisher;
+import org.bajiepka.reactivewebapp.event.TemperatureEventBus;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.PostConstruct;
@@ -10,14 +11,15 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 @Component
+@ConditionalOnProperty(name = "temperature.fleet.enabled", havingValue = "false", matchIfMissing = true)
 public class TemperatureSensor {
 
-    private final ApplicationEventPublisher publisher;
+    private final TemperatureEventBus bus;
     private final Random random = new Random();
     private ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
 
-    public TemperatureSensor(ApplicationEventPublisher publisher) {
-        this.publisher = publisher;
+    public TemperatureSensor(TemperatureEventBus bus) {
+        this.bus = bus;
     }
 
     @PostConstruct
@@ -27,7 +29,7 @@ public class TemperatureSensor {
 
     private void probe() {
         double temperature = 16 + random.nextGaussian() * 10;
-        publisher.publishEvent(new Temperature(temperature));
+        bus.publish(0, System.currentTimeMillis(), temperature);
 
         executor.schedule(this::probe, random.nextInt(5_000), TimeUnit.MILLISECONDS);
     }
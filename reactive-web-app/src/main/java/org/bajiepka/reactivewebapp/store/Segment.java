@@ -0,0 +1,170 @@
+package org.bajiepka.reactivewebapp.store;
+
+import org.bajiepka.reactivewebapp.model.Temperature;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * One memory-mapped file of fixed-size records behind a small header:
+ * <pre>
+ * header  int magic | int count | long min timestamp | long max timestamp | 8 bytes reserved
+ * record  long timestamp | double value | int sensor id
+ * </pre>
+ * Records are written by a single thread. The count is published through a volatile field after the record,
+ * so readers on other threads see every record below it completely.
+ */
+final class Segment {
+
+    static final int HEADER_SIZE = 32;
+    static final int RECORD_SIZE = 20;
+
+    private static final int MAGIC = 0x54454D50;
+    private static final int COUNT_OFFSET = 4;
+    private static final int MIN_OFFSET = 8;
+    private static final int MAX_OFFSET = 16;
+
+    private final long index;
+    private final Path path;
+    private final int capacity;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private volatile int count;
+    private volatile long minTimestamp;
+    private volatile long maxTimestamp;
+
+    private Segment(long index, Path path, int capacity, FileChannel channel, MappedByteBuffer buffer) {
+        this.index = index;
+        this.path = path;
+        this.capacity = capacity;
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    static Segment create(Path path, long index, int capacity) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        MappedByteBuffer buffer;
+        try {
+            buffer = map(channel, capacity);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            Files.deleteIfExists(path);
+            throw e;
+        }
+        Segment segment = new Segment(index, path, capacity, channel, buffer);
+        segment.buffer.putInt(0, MAGIC);
+        segment.writeHeader(0, Long.MAX_VALUE, Long.MIN_VALUE);
+        return segment;
+    }
+
+    /**
+     * Reopens a segment written before. The capacity follows from the file size, so segments written
+     * with another configured capacity stay readable.
+     */
+    static Segment open(Path path, long index) throws IOException {
+        long size = Files.size(path);
+        if (size < HEADER_SIZE || (size - HEADER_SIZE) % RECORD_SIZE != 0) {
+            throw new IOException("Not a segment file: " + path);
+        }
+        int capacity = (int) ((size - HEADER_SIZE) / RECORD_SIZE);
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        Segment segment = new Segment(index, path, capacity, channel, map(channel, capacity));
+        if (segment.buffer.getInt(0) != MAGIC) {
+            channel.close();
+            throw new IOException("Not a segment file: " + path);
+        }
+        segment.count = Math.min(capacity, Math.max(0, segment.buffer.getInt(COUNT_OFFSET)));
+        segment.minTimestamp = segment.buffer.getLong(MIN_OFFSET);
+        segment.maxTimestamp = segment.buffer.getLong(MAX_OFFSET);
+        return segment;
+    }
+
+    boolean append(int sensorId, long timestamp, double value) {
+        int current = count;
+        if (current == capacity) {
+            return false;
+        }
+        int offset = HEADER_SIZE + current * RECORD_SIZE;
+        buffer.putLong(offset, timestamp);
+        buffer.putDouble(offset + 8, value);
+        buffer.putInt(offset + 16, sensorId);
+        writeHeader(current + 1, Math.min(minTimestamp, timestamp), Math.max(maxTimestamp, timestamp));
+        return true;
+    }
+
+    /**
+     * Adds the records within {@code [from, to]} in write order, stops once {@code limit} records are collected.
+     */
+    void scan(long from, long to, int sensorId, int limit, List<Temperature> into) {
+        if (count == 0 || maxTimestamp < from || minTimestamp > to) {
+            return;
+        }
+        int end = count;
+        for (int i = 0; i < end && into.size() < limit; i++) {
+            int offset = HEADER_SIZE + i * RECORD_SIZE;
+            long timestamp = buffer.getLong(offset);
+            if (timestamp < from || timestamp > to) {
+                continue;
+            }
+            int sensor = buffer.getInt(offset + 16);
+            if (sensorId < 0 || sensor == sensorId) {
+                into.add(new Temperature(sensor, timestamp, buffer.getDouble(offset + 8)));
+            }
+        }
+    }
+
+    void flush() {
+        buffer.force();
+    }
+
+    /**
+     * Closes the channel, the mapping itself is released by the garbage collector once no query uses it.
+     */
+    void close() throws IOException {
+        channel.close();
+    }
+
+    void delete() throws IOException {
+        close();
+        Files.deleteIfExists(path);
+    }
+
+    long getIndex() {
+        return index;
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    boolean isFull() {
+        return count == capacity;
+    }
+
+    long getMinTimestamp() {
+        return minTimestamp;
+    }
+
+    long getMaxTimestamp() {
+        return maxTimestamp;
+    }
+
+    private void writeHeader(int count, long minTimestamp, long maxTimestamp) {
+        buffer.putLong(MIN_OFFSET, minTimestamp);
+        buffer.putLong(MAX_OFFSET, maxTimestamp);
+        buffer.putInt(COUNT_OFFSET, count);
+        this.minTimestamp = minTimestamp;
+        this.maxTimestamp = maxTimestamp;
+        this.count = count;
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, int capacity) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) capacity * RECORD_SIZE);
+    }
+}
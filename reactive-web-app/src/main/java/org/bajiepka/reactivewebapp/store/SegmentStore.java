@@ -0,0 +1,198 @@
+package org.bajiepka.reactivewebapp.store;
+
+import org.bajiepka.reactivewebapp.event.TemperatureHandler;
+import org.bajiepka.reactivewebapp.event.TemperatureReading;
+import org.bajiepka.reactivewebapp.model.Temperature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Embedded append-only store of readings: a directory of memory-mapped segment files with fixed-size records.
+ * Appends go to the last segment, a full segment is flushed and a new one is started. On rolling, segments are
+ * deleted oldest first while there are more than {@code maxSegments} of them or their newest reading is older
+ * than the retention. Range queries skip every segment whose min/max timestamps miss the range and scan the rest.
+ * <p>
+ * {@link #append} must be called from a single thread, e.g. as an event bus consumer; queries may run
+ * concurrently on any thread. The directory is locked for the lifetime of the store, a second store on it, in
+ * this or another process, fails to open instead of overwriting the segments.
+ */
+public class SegmentStore implements TemperatureHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(SegmentStore.class);
+
+    private static final String SUFFIX = ".seg";
+    private static final String LOCK_FILE = ".lock";
+
+    private final Path directory;
+    private final int recordsPerSegment;
+    private final int maxSegments;
+    private final Duration retention;
+    private final FileChannel lockChannel;
+    private final FileLock lock;
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+    private Segment active;
+
+    /**
+     * @param retention age of the newest reading in a segment after which it is deleted, zero to keep by count only
+     * @throws IOException also when another store holds the directory
+     */
+    public SegmentStore(Path directory, int recordsPerSegment, int maxSegments, Duration retention)
+            throws IOException {
+        if (recordsPerSegment <= 0 || maxSegments <= 0) {
+            throw new IllegalArgumentException("records per segment and max segments must be positive");
+        }
+        this.directory = Files.createDirectories(directory);
+        this.recordsPerSegment = recordsPerSegment;
+        this.maxSegments = maxSegments;
+        this.retention = retention;
+        this.lockChannel = FileChannel.open(this.directory.resolve(LOCK_FILE), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE);
+        this.lock = tryLock();
+        try {
+            recover();
+        } catch (IOException | RuntimeException e) {
+            lockChannel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void onReading(TemperatureReading reading, long sequence, boolean endOfBatch) throws IOException {
+        append(reading.getSensorId(), reading.getTimestamp(), reading.getValue());
+    }
+
+    public void append(int sensorId, long timestamp, double value) throws IOException {
+        if (active == null || !active.append(sensorId, timestamp, value)) {
+            roll();
+            active.append(sensorId, timestamp, value);
+        }
+    }
+
+    /**
+     * @param sensorId sensor to select, negative for all
+     * @return readings with a timestamp within {@code [from, to]}, in write order, at most {@code limit}
+     */
+    public List<Temperature> query(long from, long to, int sensorId, int limit) {
+        List<Temperature> readings = new ArrayList<>();
+        for (Segment segment : segments) {
+            if (readings.size() >= limit) {
+                break;
+            }
+            segment.scan(from, to, sensorId, limit, readings);
+        }
+        return readings;
+    }
+
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    public long getRecordCount() {
+        long records = 0;
+        for (Segment segment : segments) {
+            records += segment.getCount();
+        }
+        return records;
+    }
+
+    public void close() {
+        if (active != null) {
+            active.flush();
+        }
+        for (Segment segment : segments) {
+            try {
+                segment.close();
+            } catch (IOException e) {
+                log.warn("Failed to close segment {}", segment.getIndex(), e);
+            }
+        }
+        try {
+            lock.release();
+            lockChannel.close();
+        } catch (IOException e) {
+            log.warn("Failed to unlock {}", directory, e);
+        }
+    }
+
+    private FileLock tryLock() throws IOException {
+        FileLock acquired;
+        try {
+            acquired = lockChannel.tryLock();
+        } catch (IOException | OverlappingFileLockException e) {
+            lockChannel.close();
+            throw new IOException("Failed to lock " + directory, e);
+        }
+        if (acquired == null) {
+            lockChannel.close();
+            throw new IOException(directory + " is used by another process");
+        }
+        return acquired;
+    }
+
+    private void roll() throws IOException {
+        long index = 0;
+        if (active != null) {
+            active.flush();
+            index = active.getIndex() + 1;
+        }
+        Segment segment = Segment.create(directory.resolve(String.format("%019d%s", index, SUFFIX)), index,
+                recordsPerSegment);
+        segments.add(segment);
+        active = segment;
+        enforceRetention();
+    }
+
+    private void enforceRetention() {
+        long expiredBefore = retention.isZero()
+                ? Long.MIN_VALUE
+                : System.currentTimeMillis() - retention.toMillis();
+        while (segments.size() > 1) {
+            Segment oldest = segments.get(0);
+            if (segments.size() <= maxSegments && oldest.getMaxTimestamp() >= expiredBefore) {
+                return;
+            }
+            segments.remove(0);
+            try {
+                oldest.delete();
+            } catch (IOException e) {
+                log.warn("Failed to delete segment {}", oldest.getIndex(), e);
+            }
+        }
+    }
+
+    private void recover() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            stream.forEach(files::add);
+        }
+        files.sort(Comparator.comparing(Path::getFileName));
+
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            try {
+                long index = Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+                segments.add(Segment.open(file, index));
+            } catch (NumberFormatException | IOException e) {
+                log.warn("Skipping unreadable segment {}", file, e);
+            }
+        }
+        if (!segments.isEmpty()) {
+            active = segments.get(segments.size() - 1);
+            log.info("Recovered {} readings in {} segments from {}", getRecordCount(), segments.size(), directory);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package org.bajiepka.reactivewebapp.store;
+
+import org.bajiepka.reactivewebapp.model.Temperature;
+import org.springframework.scheduling.annotation.Async;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Runs range queries on the @Async executor: a scan over mapped segments may touch cold pages, and that wait
+ * should not hold a request thread.
+ */
+public class TemperatureHistory {
+
+    private final SegmentStore store;
+
+    public TemperatureHistory(SegmentStore store) {
+        this.store = store;
+    }
+
+    /**
+     * @see SegmentStore#query(long, long, int, int)
+     */
+    @Async
+    public CompletableFuture<List<Temperature>> query(long from, long to, int sensorId, int limit) {
+        return CompletableFuture.completedFuture(store.query(from, to, sensorId, limit));
+    }
+}
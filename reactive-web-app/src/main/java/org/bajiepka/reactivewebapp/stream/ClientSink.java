@@ -0,0 +1,13 @@
+package org.bajiepka.reactivewebapp.stream;
+
+import java.io.IOException;
+
+/**
+ * Connection of a single client, e.g. an SSE emitter. Called by one drain task at a time.
+ */
+public interface ClientSink<T> {
+
+    void send(T item) throws IOException;
+
+    void close();
+}
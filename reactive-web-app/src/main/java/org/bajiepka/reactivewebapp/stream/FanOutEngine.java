@@ -0,0 +1,204 @@
+package org.bajiepka.reactivewebapp.stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Broadcasts items to any number of clients without letting a slow client delay the others.
+ * <p>
+ * {@link #publish} only appends the item to the bounded ring buffer of every client. Each client has
+ * its own drain task on the shared executor. At most one drain task per client is scheduled at a time, so
+ * a client receives its items in order from a single thread. A drain task sends at most {@code maxBatch}
+ * items and then reschedules itself, which keeps the pool fair between clients. When a buffer is full
+ * the {@link OverflowPolicy} decides what happens.
+ */
+public class FanOutEngine<T> {
+
+    private static final Logger log = LoggerFactory.getLogger(FanOutEngine.class);
+
+    private final Executor drainExecutor;
+    private final int bufferSize;
+    private final OverflowPolicy overflowPolicy;
+    private final int maxBatch;
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final LongAdder published = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder disconnected = new LongAdder();
+
+    public FanOutEngine(Executor drainExecutor, int bufferSize, OverflowPolicy overflowPolicy, int maxBatch) {
+        if (bufferSize <= 0 || maxBatch <= 0) {
+            throw new IllegalArgumentException("buffer size and max batch must be positive");
+        }
+        this.drainExecutor = drainExecutor;
+        this.bufferSize = bufferSize;
+        this.overflowPolicy = overflowPolicy;
+        this.maxBatch = maxBatch;
+    }
+
+    public Subscription subscribe(ClientSink<? super T> sink) {
+        Subscription subscription = new Subscription(sink);
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    public void publish(T item) {
+        published.increment();
+        for (Subscription subscription : subscriptions) {
+            subscription.offer(item);
+        }
+    }
+
+    /**
+     * Disconnects every client.
+     */
+    public void close() {
+        subscriptions.forEach(Subscription::cancel);
+    }
+
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    public long getPublishedCount() {
+        return published.sum();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public long getDisconnectedCount() {
+        return disconnected.sum();
+    }
+
+    public class Subscription {
+
+        private final ClientSink<? super T> sink;
+        private final Object[] ring = new Object[bufferSize];
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+        private int head;
+        private int size;
+
+        private Subscription(ClientSink<? super T> sink) {
+            this.sink = sink;
+        }
+
+        /**
+         * Removes the client without closing its sink, e.g. when the connection is already gone.
+         */
+        public void unsubscribe() {
+            if (cancelled.compareAndSet(false, true)) {
+                subscriptions.remove(this);
+            }
+        }
+
+        public void cancel() {
+            if (cancelled.compareAndSet(false, true)) {
+                subscriptions.remove(this);
+                sink.close();
+            }
+        }
+
+        public boolean isCancelled() {
+            return cancelled.get();
+        }
+
+        public synchronized int getBuffered() {
+            return size;
+        }
+
+        private void offer(T item) {
+            if (cancelled.get()) {
+                return;
+            }
+            if (!append(item)) {
+                disconnected.increment();
+                cancel();
+                return;
+            }
+            schedule();
+        }
+
+        private synchronized boolean append(T item) {
+            if (size == ring.length) {
+                switch (overflowPolicy) {
+                    case DROP_OLDEST:
+                        ring[head] = null;
+                        head = (head + 1) % ring.length;
+                        size--;
+                        dropped.increment();
+                        break;
+                    case CONFLATE_LATEST:
+                        dropped.add(size);
+                        clear();
+                        break;
+                    default:
+                        return false;
+                }
+            }
+            ring[(head + size) % ring.length] = item;
+            size++;
+            return true;
+        }
+
+        private synchronized int poll(Object[] batch) {
+            int count = Math.min(size, batch.length);
+            for (int i = 0; i < count; i++) {
+                batch[i] = ring[head];
+                ring[head] = null;
+                head = (head + 1) % ring.length;
+            }
+            size -= count;
+            return count;
+        }
+
+        private void clear() {
+            for (int i = 0; i < size; i++) {
+                ring[(head + i) % ring.length] = null;
+            }
+            head = 0;
+            size = 0;
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    drainExecutor.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    scheduled.set(false);
+                    log.warn("Drain executor rejected a client, closing it", e);
+                    cancel();
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void drain() {
+            Object[] batch = new Object[maxBatch];
+            int count = poll(batch);
+            try {
+                for (int i = 0; i < count && !cancelled.get(); i++) {
+                    sink.send((T) batch[i]);
+                }
+            } catch (Exception e) {
+                log.debug("Client send failed, disconnecting it", e);
+                disconnected.increment();
+                cancel();
+            }
+
+            scheduled.set(false);
+            if (!cancelled.get() && getBuffered() > 0) {
+                schedule();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,22 @@
+package org.bajiepka.reactivewebapp.stream;
+
+/**
+ * What a client buffer does with a new item once it is full.
+ */
+public enum OverflowPolicy {
+
+    /**
+     * Evict the oldest buffered item.
+     */
+    DROP_OLDEST,
+
+    /**
+     * Discard everything buffered and keep only the new item, a slow client jumps straight to the latest value.
+     */
+    CONFLATE_LATEST,
+
+    /**
+     * Disconnect the client.
+     */
+    DISCONNECT
+}
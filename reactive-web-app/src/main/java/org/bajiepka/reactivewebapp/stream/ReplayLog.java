@@ -0,0 +1,93 @@
+package org.bajiepka.reactivewebapp.stream;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongFunction;
+
+/**
+ * Bounded, lock-free log of the most recent items for resuming streams. Every appended item gets the next id
+ * of a monotonically increasing sequence starting at 1 and overwrites the slot of the item {@code capacity}
+ * ids older. Readers never block writers: a slot that was overwritten while reading is skipped, a slot whose
+ * id is claimed but not yet written ends the read.
+ */
+public class ReplayLog<T> {
+
+    private final AtomicReferenceArray<Entry<T>> slots;
+    private final int mask;
+    private final AtomicLong lastId = new AtomicLong();
+
+    /**
+     * @param capacity rounded up to a power of two
+     */
+    public ReplayLog(int capacity) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * @param factory creates the item for the claimed id, e.g. a frame carrying it. When it fails the id
+     *                is left as a gap, so readers do not stop at it
+     * @return the appended item
+     */
+    public T append(LongFunction<? extends T> factory) {
+        long id = lastId.incrementAndGet();
+        int index = (int) (id & mask);
+        T value;
+        try {
+            value = factory.apply(id);
+        } catch (RuntimeException | Error e) {
+            slots.set(index, new Entry<>(id, null));
+            throw e;
+        }
+        slots.set(index, new Entry<>(id, value));
+        return value;
+    }
+
+    /**
+     * @return retained items with an id greater than {@code afterId} in id order, the oldest ones are missing
+     * when more than the capacity was appended since
+     */
+    public List<T> since(long afterId) {
+        long last = lastId.get();
+        long first = Math.max(afterId + 1, last - slots.length() + 1);
+        List<T> items = new ArrayList<>((int) Math.max(0, last - first + 1));
+        for (long id = first; id <= last; id++) {
+            Entry<T> entry = slots.get((int) (id & mask));
+            if (entry == null || entry.id < id) {
+                break;
+            }
+            if (entry.id == id && entry.value != null) {
+                items.add(entry.value);
+            }
+        }
+        return items;
+    }
+
+    public long getLastId() {
+        return lastId.get();
+    }
+
+    public int getCapacity() {
+        return slots.length();
+    }
+
+    private static final class Entry<T> {
+
+        private final long id;
+        private final T value;
+
+        private Entry(long id, T value) {
+            this.id = id;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package org.bajiepka.reactivewebapp.stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Owns the lifecycle of the SSE connections: emitters get the configured timeout, connections are capped per
+ * client address, and one shared timer sweeps all of them. A connection nothing was written to for the heartbeat
+ * interval gets a heartbeat comment, sent on the given executor so that a stuck client never blocks the timer.
+ * The heartbeat is skipped while another write holds the connection. A connection without a completed write for
+ * the idle timeout, or whose heartbeat failed, is evicted and completed on the same executor.
+ * <p>
+ * That executor should not be the one draining the streams: a write to a stuck client may block its thread
+ * until the idle timeout, and it must not hold up the deliveries to everybody else.
+ */
+public class SseConnectionManager {
+
+    private static final Logger log = LoggerFactory.getLogger(SseConnectionManager.class);
+
+    private final Executor heartbeatExecutor;
+    private final long timeoutMillis;
+    private final long heartbeatNanos;
+    private final long idleNanos;
+    private final int maxPerClient;
+    private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+    private final Map<String, Integer> perClient = new ConcurrentHashMap<>();
+    private final LongAdder opened = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+    private final ScheduledFuture<?> sweep;
+
+    /**
+     * @param timeout      async request timeout of the emitters, zero for none
+     * @param maxPerClient open connections allowed per client address
+     */
+    public SseConnectionManager(ScheduledExecutorService timer, Executor heartbeatExecutor, Duration timeout,
+                                Duration heartbeatInterval, Duration idleTimeout, int maxPerClient) {
+        if (heartbeatInterval.isNegative() || heartbeatInterval.isZero()
+                || idleTimeout.compareTo(heartbeatInterval) <= 0) {
+            throw new IllegalArgumentException("Expected 0 < heartbeat interval < idle timeout");
+        }
+        if (maxPerClient <= 0) {
+            throw new IllegalArgumentException("max connections per client must be positive");
+        }
+        this.heartbeatExecutor = heartbeatExecutor;
+        this.timeoutMillis = timeout.toMillis();
+        this.heartbeatNanos = heartbeatInterval.toNanos();
+        this.idleNanos = idleTimeout.toNanos();
+        this.maxPerClient = maxPerClient;
+
+        long period = Math.max(1, heartbeatInterval.toMillis() / 2);
+        this.sweep = timer.scheduleAtFixedRate(this::sweep, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @throws ResponseStatusException with 429 when the client already has the maximum of open connections
+     */
+    public Connection open(String client) {
+        if (!reserve(client)) {
+            rejected.increment();
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                    "At most " + maxPerClient + " streams per client");
+        }
+        Connection connection = new Connection(client, new SseEmitter(timeoutMillis));
+        connections.add(connection);
+        opened.increment();
+        return connection;
+    }
+
+    public void close() {
+        sweep.cancel(false);
+        connections.forEach(connection -> connection.evict("shutdown"));
+    }
+
+    public int getActiveCount() {
+        return connections.size();
+    }
+
+    public long getOpenedCount() {
+        return opened.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public long getEvictedCount() {
+        return evicted.sum();
+    }
+
+    private boolean reserve(String client) {
+        AtomicBoolean reserved = new AtomicBoolean();
+        perClient.compute(client, (address, open) -> {
+            int current = open == null ? 0 : open;
+            if (current >= maxPerClient) {
+                return open;
+            }
+            reserved.set(true);
+            return current + 1;
+        });
+        return reserved.get();
+    }
+
+    private void free(String client) {
+        perClient.computeIfPresent(client, (address, open) -> open > 1 ? open - 1 : null);
+    }
+
+    private void sweep() {
+        long now = System.nanoTime();
+        for (Connection connection : connections) {
+            long idle = now - connection.lastWrite;
+            if (idle >= idleNanos) {
+                connection.evict("idle");
+            } else if (idle >= heartbeatNanos && connection.heartbeatPending.compareAndSet(false, true)) {
+                try {
+                    heartbeatExecutor.execute(connection::heartbeat);
+                } catch (RejectedExecutionException e) {
+                    connection.heartbeatPending.set(false);
+                }
+            }
+        }
+    }
+
+    /**
+     * One open stream. As a sink it skips frames with an id it has already sent, which makes replaying
+     * and live delivery overlap safely.
+     */
+    public class Connection implements ClientSink<SseFrame> {
+
+        private final String client;
+        private final SseEmitter emitter;
+        private final AtomicBoolean released = new AtomicBoolean();
+        private final AtomicBoolean heartbeatPending = new AtomicBoolean();
+        private final ReentrantLock writeLock = new ReentrantLock();
+        private volatile FanOutEngine<SseFrame>.Subscription subscription;
+        private volatile long lastWrite = System.nanoTime();
+        private long lastSentId = SseFrame.NO_ID;
+
+        private Connection(String client, SseEmitter emitter) {
+            this.client = client;
+            this.emitter = emitter;
+            emitter.onTimeout(this::release);
+            emitter.onCompletion(this::release);
+            emitter.onError(e -> release());
+        }
+
+        public SseEmitter getEmitter() {
+            return emitter;
+        }
+
+        public String getClient() {
+            return client;
+        }
+
+        public void attach(FanOutEngine<SseFrame> engine) {
+            bind(engine.subscribe(this));
+        }
+
+        /**
+         * Registers first and takes the replay snapshot second, so no event falls between the two. The connection
+         * is locked meanwhile, live events already replayed are then skipped by their id.
+         */
+        public void resume(FanOutEngine<SseFrame> engine, ReplayLog<SseFrame> replayLog, long afterId) {
+            writeLock.lock();
+            try {
+                bind(engine.subscribe(this));
+                for (SseFrame frame : replayLog.since(afterId)) {
+                    write(frame);
+                }
+            } catch (IOException e) {
+                emitter.completeWithError(e);
+                release();
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        @Override
+        public void send(SseFrame frame) throws IOException {
+            writeLock.lock();
+            try {
+                write(frame);
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        @Override
+        public void close() {
+            emitter.complete();
+            release();
+        }
+
+        private void bind(FanOutEngine<SseFrame>.Subscription subscription) {
+            this.subscription = subscription;
+            if (released.get()) {
+                subscription.unsubscribe();
+            }
+        }
+
+        private void write(SseFrame frame) throws IOException {
+            if (frame.getId() != SseFrame.NO_ID) {
+                if (frame.getId() <= lastSentId) {
+                    return;
+                }
+                lastSentId = frame.getId();
+            }
+            emitter.send(frame);
+            lastWrite = System.nanoTime();
+        }
+
+        /**
+         * A write in progress makes the heartbeat pointless, and if it is stuck the idle timeout evicts the stream.
+         */
+        private void heartbeat() {
+            if (!writeLock.tryLock()) {
+                heartbeatPending.set(false);
+                return;
+            }
+            try {
+                if (System.nanoTime() - lastWrite >= heartbeatNanos) {
+                    write(SseFrame.HEARTBEAT);
+                }
+            } catch (IOException | IllegalStateException e) {
+                evict("heartbeat failed");
+            } finally {
+                writeLock.unlock();
+                heartbeatPending.set(false);
+            }
+        }
+
+        private void evict(String reason) {
+            if (released.compareAndSet(false, true)) {
+                log.debug("Evicting stream of {}: {}", client, reason);
+                evicted.increment();
+                cleanUp();
+                completeAsync();
+            }
+        }
+
+        /**
+         * Completing waits for a write in progress on the emitter, which for a stuck client may never end.
+         */
+        private void completeAsync() {
+            try {
+                heartbeatExecutor.execute(emitter::complete);
+            } catch (RejectedExecutionException e) {
+                emitter.complete();
+            }
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                cleanUp();
+            }
+        }
+
+        private void cleanUp() {
+            connections.remove(this);
+            free(client);
+            FanOutEngine<SseFrame>.Subscription current = subscription;
+            if (current != null) {
+                current.unsubscribe();
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package org.bajiepka.reactivewebapp.stream;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Server-sent event serialized once into its wire form and shared by all emitters. The regular event builder
+ * hands the payload to the message converters on every send, i.e. once per client.
+ */
+public final class SseFrame implements SseEmitter.SseEventBuilder {
+
+    public static final long NO_ID = -1;
+
+    /**
+     * Written in front of every id, so an id handed out by an earlier process, whose sequence started over,
+     * is not mistaken for one of this process.
+     */
+    public static final String EPOCH = Long.toString(System.currentTimeMillis(), 36);
+
+    private static final byte[] DATA = "data:".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] END = "\n\n".getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * Empty comment, ignored by clients but keeping the connection and any proxy in between busy.
+     */
+    public static final SseFrame HEARTBEAT = new SseFrame(NO_ID, ":\n\n".getBytes(StandardCharsets.UTF_8));
+
+    private final long id;
+    private final byte[] frame;
+    private final Set<ResponseBodyEmitter.DataWithMediaType> data;
+
+    private SseFrame(long id, byte[] frame) {
+        this.id = id;
+        this.frame = frame;
+        this.data = Collections.singleton(new ResponseBodyEmitter.DataWithMediaType(frame, MediaType.TEXT_EVENT_STREAM));
+    }
+
+    /**
+     * @param payload serialized as single-line JSON, so it needs no further escaping
+     */
+    public static SseFrame of(ObjectMapper mapper, Object payload) throws JsonProcessingException {
+        return of(mapper, payload, NO_ID);
+    }
+
+    /**
+     * @param id written as the {@code id:} field in the form {@code <epoch>-<id>}, which the client sends back
+     *           as {@code Last-Event-ID} on reconnect, {@link #NO_ID} for none
+     */
+    public static SseFrame of(ObjectMapper mapper, Object payload, long id) throws JsonProcessingException {
+        byte[] prefix = id == NO_ID
+                ? new byte[0]
+                : ("id:" + EPOCH + "-" + id + "\n").getBytes(StandardCharsets.UTF_8);
+        byte[] json = mapper.writeValueAsBytes(payload);
+        byte[] frame = new byte[prefix.length + DATA.length + json.length + END.length];
+        int offset = 0;
+        for (byte[] part : new byte[][]{prefix, DATA, json, END}) {
+            System.arraycopy(part, 0, frame, offset, part.length);
+            offset += part.length;
+        }
+        return new SseFrame(id, frame);
+    }
+
+    /**
+     * @return the id written by {@link #of(ObjectMapper, Object, long)}, {@link #NO_ID} when the event id is
+     * malformed or comes from another epoch
+     */
+    public static long parseId(String eventId) {
+        if (eventId == null) {
+            return NO_ID;
+        }
+        String id = eventId.trim();
+        if (!id.startsWith(EPOCH + "-")) {
+            return NO_ID;
+        }
+        try {
+            long sequence = Long.parseLong(id.substring(EPOCH.length() + 1));
+            return sequence >= 0 ? sequence : NO_ID;
+        } catch (NumberFormatException e) {
+            return NO_ID;
+        }
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public int size() {
+        return frame.length;
+    }
+
+    @Override
+    public Set<ResponseBodyEmitter.DataWithMediaType> build() {
+        return data;
+    }
+
+    @Override
+    public SseEmitter.SseEventBuilder comment(String comment) {
+        throw immutable();
+    }
+
+    @Override
+    public SseEmitter.SseEventBuilder name(String eventName) {
+        throw immutable();
+    }
+
+    @Override
+    public SseEmitter.SseEventBuilder id(String id) {
+        throw immutable();
+    }
+
+    @Override
+    public SseEmitter.SseEventBuilder reconnectTime(long reconnectTimeMillis) {
+        throw immutable();
+    }
+
+    @Override
+    public SseEmitter.SseEventBuilder data(Object object) {
+        throw immutable();
+    }
+
+    @Override
+    public SseEmitter.SseEventBuilder data(Object object, MediaType mediaType) {
+        throw immutable();
+    }
+
+    private static UnsupportedOperationException immutable() {
+        return new UnsupportedOperationException("SSE frame is already serialized");
+    }
+}
@@ -0,0 +1,82 @@
+package org.bajiepka.reactivewebapp.window;
+
+import java.util.Arrays;
+
+/**
+ * Streaming quantile sketch over a fixed value range: a counter per bucket of {@code resolution} width, plus one
+ * bucket for everything below and one for everything above the range. Adding a value is O(1), two sketches of
+ * the same shape merge by adding their counters, quantiles are exact up to the resolution. Not thread-safe.
+ */
+public class BucketSketch {
+
+    private final double lowest;
+    private final double resolution;
+    private final int[] counts;
+    private long total;
+
+    public BucketSketch(double lowest, double highest, double resolution) {
+        if (highest <= lowest || resolution <= 0) {
+            throw new IllegalArgumentException("Expected lowest < highest and a positive resolution");
+        }
+        this.lowest = lowest;
+        this.resolution = resolution;
+        this.counts = new int[(int) Math.ceil((highest - lowest) / resolution) + 2];
+    }
+
+    public void add(double value) {
+        counts[indexOf(value)]++;
+        total++;
+    }
+
+    public void merge(BucketSketch other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        total += other.total;
+    }
+
+    public void clear() {
+        Arrays.fill(counts, 0);
+        total = 0;
+    }
+
+    public long getCount() {
+        return total;
+    }
+
+    /**
+     * @param quantile between 0 and 1
+     * @return middle of the bucket holding the quantile, {@code NaN} for an empty sketch
+     */
+    public double quantile(double quantile) {
+        if (total == 0) {
+            return Double.NaN;
+        }
+        long rank = Math.max(1, (long) Math.ceil(total * Math.min(1, Math.max(0, quantile))));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return valueOf(i);
+            }
+        }
+        return valueOf(counts.length - 1);
+    }
+
+    private int indexOf(double value) {
+        if (value < lowest) {
+            return 0;
+        }
+        return (int) Math.min(counts.length - 1, 1 + (long) ((value - lowest) / resolution));
+    }
+
+    private double valueOf(int index) {
+        if (index == 0) {
+            return lowest;
+        }
+        if (index == counts.length - 1) {
+            return lowest + (counts.length - 2) * resolution;
+        }
+        return lowest + (index - 0.5) * resolution;
+    }
+}
@@ -0,0 +1,7 @@
+package org.bajiepka.reactivewebapp.window;
+
+@FunctionalInterface
+public interface SummaryListener {
+
+    void onSummary(WindowSummary summary) throws Exception;
+}
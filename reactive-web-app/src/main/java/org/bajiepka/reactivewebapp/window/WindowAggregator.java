@@ -0,0 +1,182 @@
+package org.bajiepka.reactivewebapp.window;
+
+import org.bajiepka.reactivewebapp.event.TemperatureHandler;
+import org.bajiepka.reactivewebapp.event.TemperatureReading;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Tumbling and sliding windows over the readings, built from panes: a pane keeps count, sum, min, max and
+ * a {@link BucketSketch} of one pane length of event time, so a reading costs a single O(1) pane update.
+ * When event time crosses a pane boundary the windows ending there are merged from their panes and emitted.
+ * Windows without readings are not emitted, readings older than the pane ring are counted as late and dropped.
+ * <p>
+ * Must be fed from a single thread, e.g. as an event bus consumer.
+ */
+public class WindowAggregator implements TemperatureHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(WindowAggregator.class);
+
+    private static final double SKETCH_LOWEST = -50;
+    private static final double SKETCH_HIGHEST = 100;
+    private static final double SKETCH_RESOLUTION = 0.1;
+
+    private final long paneMillis;
+    private final int tumblingPanes;
+    private final int slidingPanes;
+    private final int slidePanes;
+    private final Pane[] panes;
+    private final BucketSketch merged = newSketch();
+    private final List<SummaryListener> listeners = new CopyOnWriteArrayList<>();
+    private long currentPane = Long.MIN_VALUE;
+    private long lateReadings;
+
+    /**
+     * @param tumblingPanes length of a tumbling window in panes
+     * @param slidingPanes  length of a sliding window in panes
+     * @param slidePanes    panes between two sliding windows
+     */
+    public WindowAggregator(long paneMillis, int tumblingPanes, int slidingPanes, int slidePanes) {
+        if (paneMillis <= 0 || tumblingPanes <= 0 || slidingPanes <= 0 || slidePanes <= 0) {
+            throw new IllegalArgumentException("pane length and window sizes must be positive");
+        }
+        this.paneMillis = paneMillis;
+        this.tumblingPanes = tumblingPanes;
+        this.slidingPanes = slidingPanes;
+        this.slidePanes = slidePanes;
+        this.panes = new Pane[Math.max(tumblingPanes, slidingPanes)];
+        for (int i = 0; i < panes.length; i++) {
+            panes[i] = new Pane();
+        }
+    }
+
+    public void addListener(SummaryListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void onReading(TemperatureReading reading, long sequence, boolean endOfBatch) {
+        add(reading.getTimestamp(), reading.getValue());
+    }
+
+    public void add(long timestamp, double value) {
+        long pane = Math.floorDiv(timestamp, paneMillis);
+        if (currentPane == Long.MIN_VALUE) {
+            currentPane = pane;
+            paneAt(pane).reset(pane);
+        } else if (pane > currentPane) {
+            advanceTo(pane);
+        }
+
+        Pane target = paneAt(pane);
+        if (target.index != pane) {
+            lateReadings++;
+            return;
+        }
+        target.add(value);
+    }
+
+    public long getLateReadings() {
+        return lateReadings;
+    }
+
+    private void advanceTo(long pane) {
+        long steps = Math.min(pane - currentPane, panes.length);
+        for (long closing = currentPane; closing < currentPane + steps; closing++) {
+            close(closing);
+            paneAt(closing + 1).reset(closing + 1);
+        }
+        if (pane - currentPane > panes.length) {
+            for (Pane stale : panes) {
+                stale.reset(Long.MIN_VALUE);
+            }
+            paneAt(pane).reset(pane);
+        }
+        currentPane = pane;
+    }
+
+    private void close(long pane) {
+        if ((pane + 1) % tumblingPanes == 0) {
+            emit("tumbling", pane - tumblingPanes + 1, pane);
+        }
+        if ((pane + 1) % slidePanes == 0) {
+            emit("sliding", pane - slidingPanes + 1, pane);
+        }
+    }
+
+    private void emit(String window, long firstPane, long lastPane) {
+        merged.clear();
+        long count = 0;
+        double sum = 0;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (long index = firstPane; index <= lastPane; index++) {
+            Pane pane = paneAt(index);
+            if (pane.index == index && pane.count > 0) {
+                count += pane.count;
+                sum += pane.sum;
+                min = Math.min(min, pane.min);
+                max = Math.max(max, pane.max);
+                merged.merge(pane.sketch);
+            }
+        }
+        if (count == 0) {
+            return;
+        }
+
+        WindowSummary summary = new WindowSummary(window, firstPane * paneMillis, (lastPane + 1) * paneMillis,
+                count, min, max, sum / count, clamp(merged.quantile(0.5), min, max),
+                clamp(merged.quantile(0.9), min, max), clamp(merged.quantile(0.99), min, max));
+        for (SummaryListener listener : listeners) {
+            try {
+                listener.onSummary(summary);
+            } catch (Exception e) {
+                log.warn("Window summary listener failed", e);
+            }
+        }
+    }
+
+    private Pane paneAt(long index) {
+        return panes[(int) Math.floorMod(index, (long) panes.length)];
+    }
+
+    private static double clamp(double value, double min, double max) {
+        return Math.min(max, Math.max(min, value));
+    }
+
+    private static BucketSketch newSketch() {
+        return new BucketSketch(SKETCH_LOWEST, SKETCH_HIGHEST, SKETCH_RESOLUTION);
+    }
+
+    private static final class Pane {
+
+        private final BucketSketch sketch = newSketch();
+        private long index = Long.MIN_VALUE;
+        private long count;
+        private double sum;
+        private double min;
+        private double max;
+
+        private void reset(long index) {
+            this.index = index;
+            if (count > 0) {
+                sketch.clear();
+            }
+            count = 0;
+            sum = 0;
+            min = Double.POSITIVE_INFINITY;
+            max = Double.NEGATIVE_INFINITY;
+        }
+
+        private void add(double value) {
+            count++;
+            sum += value;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+            sketch.add(value);
+        }
+    }
+}
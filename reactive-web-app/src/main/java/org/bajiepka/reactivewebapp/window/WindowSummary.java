@@ -0,0 +1,72 @@
+package org.bajiepka.reactivewebapp.window;
+
+public class WindowSummary {
+
+    private final String window;
+    private final long start;
+    private final long end;
+    private final long count;
+    private final double min;
+    private final double max;
+    private final double mean;
+    private final double p50;
+    private final double p90;
+    private final double p99;
+
+    public WindowSummary(String window, long start, long end, long count, double min, double max, double mean,
+                         double p50, double p90, double p99) {
+        this.window = window;
+        this.start = start;
+        this.end = end;
+        this.count = count;
+        this.min = min;
+        this.max = max;
+        this.mean = mean;
+        this.p50 = p50;
+        this.p90 = p90;
+        this.p99 = p99;
+    }
+
+    /**
+     * @return {@code tumbling} or {@code sliding}
+     */
+    public String getWindow() {
+        return window;
+    }
+
+    public long getStart() {
+        return start;
+    }
+
+    public long getEnd() {
+        return end;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public double getP50() {
+        return p50;
+    }
+
+    public double getP90() {
+        return p90;
+    }
+
+    public double getP99() {
+        return p99;
+    }
+}
@@ -0,0 +1,73 @@
+package org.bajiepka.reactivewebapp.config;
+
+import org.junit.Test;
+
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+public class OverflowRejectionHandlerTests {
+
+    private ThreadPoolExecutor saturatedPool(OverflowRejectionHandler handler, CountDownLatch release) {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(1), handler);
+        pool.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        pool.execute(() -> { });
+        return pool;
+    }
+
+    @Test
+    public void test_01_caller_runs_when_saturated() {
+
+        OverflowRejectionHandler handler = new OverflowRejectionHandler(AsyncExecutorProperties.OverflowPolicy.CALLER_RUNS);
+        CountDownLatch release = new CountDownLatch(1);
+        ThreadPoolExecutor pool = saturatedPool(handler, release);
+
+        Thread[] runner = new Thread[1];
+        pool.execute(() -> runner[0] = Thread.currentThread());
+
+        assertSame(Thread.currentThread(), runner[0]);
+        assertEquals(1, handler.getCallerRunsCount());
+        release.countDown();
+        pool.shutdown();
+    }
+
+    @Test
+    public void test_02_shed_cancels_submitted_future() {
+
+        OverflowRejectionHandler handler = new OverflowRejectionHandler(AsyncExecutorProperties.OverflowPolicy.SHED);
+        CountDownLatch release = new CountDownLatch(1);
+        ThreadPoolExecutor pool = saturatedPool(handler, release);
+
+        Future<?> shed = pool.submit(() -> { });
+
+        assertTrue(shed.isCancelled());
+        assertEquals(1, handler.getShedCount());
+        release.countDown();
+        pool.shutdown();
+    }
+
+    @Test
+    public void test_03_shed_rejects_completable_future_task() {
+
+        OverflowRejectionHandler handler = new OverflowRejectionHandler(AsyncExecutorProperties.OverflowPolicy.SHED);
+        CountDownLatch release = new CountDownLatch(1);
+        ThreadPoolExecutor pool = saturatedPool(handler, release);
+
+        try {
+            CompletableFuture.supplyAsync(() -> 1, pool);
+            fail("Expected the caller to see the rejection");
+        } catch (RejectedExecutionException expected) {
+            assertEquals(1, handler.getShedCount());
+        } finally {
+            release.countDown();
+            pool.shutdown();
+        }
+    }
+}
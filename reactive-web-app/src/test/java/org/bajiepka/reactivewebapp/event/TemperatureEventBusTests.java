@@ -0,0 +1,61 @@
+package org.bajiepka.reactivewebapp.event;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class TemperatureEventBusTests {
+
+    @Test
+    public void test_01_every_consumer_sees_every_reading_in_order() throws InterruptedException {
+
+        TemperatureEventBus bus = new TemperatureEventBus(8);
+        List<Double> fast = new ArrayList<>();
+        List<Double> slow = new ArrayList<>();
+        bus.subscribe("fast", (reading, sequence, endOfBatch) -> fast.add(reading.getValue()));
+        bus.subscribe("slow", (reading, sequence, endOfBatch) -> {
+            Thread.sleep(1);
+            slow.add(reading.getValue());
+        });
+
+        for (int i = 0; i < 100; i++) {
+            bus.publish(i, i, i);
+        }
+        bus.shutdown();
+        assertTrue(bus.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertEquals(100, fast.size());
+        assertEquals(100, slow.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, fast.get(i), 0.0);
+            assertEquals(i, slow.get(i), 0.0);
+        }
+    }
+
+    @Test
+    public void test_02_failing_handler_keeps_consuming() throws InterruptedException {
+
+        TemperatureEventBus bus = new TemperatureEventBus(1024);
+        AtomicInteger handled = new AtomicInteger();
+        bus.subscribe("failing", (reading, sequence, endOfBatch) -> {
+            handled.incrementAndGet();
+            if (sequence % 10 == 0) {
+                throw new IllegalStateException("boom");
+            }
+        });
+
+        for (int i = 0; i < 1_000; i++) {
+            bus.publish(i, i, i);
+        }
+        bus.shutdown();
+        assertTrue(bus.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertEquals(1_000, handled.get());
+        assertEquals(999, bus.getCursor());
+    }
+}
@@ -0,0 +1,113 @@
+package org.bajiepka.reactivewebapp.store;
+
+import org.bajiepka.reactivewebapp.model.Temperature;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class SegmentStoreTests {
+
+    private final Path directory = Files.createTempDirectory("segment-store");
+
+    public SegmentStoreTests() throws IOException {
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    public void test_01_range_query_spans_segments() throws IOException {
+
+        SegmentStore store = new SegmentStore(directory, 10, 100, Duration.ZERO);
+        for (int i = 0; i < 35; i++) {
+            store.append(i % 3, 1_000 + i, i * 0.5);
+        }
+
+        assertEquals(4, store.getSegmentCount());
+        List<Temperature> readings = store.query(1_008, 1_021, -1, Integer.MAX_VALUE);
+        assertEquals(14, readings.size());
+        assertEquals(1_008, readings.get(0).getTimestamp());
+        assertEquals(4.0, readings.get(0).getValue(), 0.0);
+        assertEquals(1_021, readings.get(13).getTimestamp());
+
+        List<Temperature> sensor = store.query(0, Long.MAX_VALUE, 1, 5);
+        assertEquals(5, sensor.size());
+        sensor.forEach(reading -> assertEquals(1, reading.getSensorId()));
+        store.close();
+    }
+
+    @Test
+    public void test_02_reopened_store_recovers_and_continues() throws IOException {
+
+        SegmentStore store = new SegmentStore(directory, 10, 100, Duration.ZERO);
+        for (int i = 0; i < 15; i++) {
+            store.append(1, i, i);
+        }
+        store.close();
+
+        SegmentStore reopened = new SegmentStore(directory, 10, 100, Duration.ZERO);
+        assertEquals(15, reopened.getRecordCount());
+        for (int i = 15; i < 25; i++) {
+            reopened.append(1, i, i);
+        }
+
+        assertEquals(3, reopened.getSegmentCount());
+        List<Temperature> readings = reopened.query(0, 100, -1, Integer.MAX_VALUE);
+        assertEquals(25, readings.size());
+        for (int i = 0; i < 25; i++) {
+            assertEquals(i, readings.get(i).getTimestamp());
+        }
+        reopened.close();
+    }
+
+    @Test
+    public void test_03_oldest_segments_are_deleted_on_rolling() throws IOException {
+
+        SegmentStore store = new SegmentStore(directory, 10, 3, Duration.ofHours(1));
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 10; i++) {
+            store.append(1, now - Duration.ofHours(2).toMillis(), i);
+        }
+        for (int i = 0; i < 50; i++) {
+            store.append(1, now + i, i);
+        }
+
+        assertEquals(3, store.getSegmentCount());
+        assertEquals(30, store.getRecordCount());
+        assertTrue(store.query(0, now - 1, -1, Integer.MAX_VALUE).isEmpty());
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(3, files.filter(path -> path.toString().endsWith(".seg")).count());
+        }
+        store.close();
+    }
+
+    @Test
+    public void test_04_directory_is_locked_while_open() throws IOException {
+
+        SegmentStore store = new SegmentStore(directory, 10, 3, Duration.ZERO);
+        try {
+            new SegmentStore(directory, 10, 3, Duration.ZERO);
+            fail("Expected the second store to be refused");
+        } catch (IOException expected) {
+            store.append(1, 1, 1);
+        }
+        store.close();
+
+        SegmentStore reopened = new SegmentStore(directory, 10, 3, Duration.ZERO);
+        assertEquals(1, reopened.getRecordCount());
+        reopened.close();
+    }
+}
@@ -0,0 +1,113 @@
+package org.bajiepka.reactivewebapp.stream;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class FanOutEngineTests {
+
+    @Test
+    public void test_01_slow_client_does_not_delay_fast_one() throws InterruptedException {
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        FanOutEngine<Integer> engine = new FanOutEngine<>(pool, 4, OverflowPolicy.DROP_OLDEST, 16);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch fastReceivedLast = new CountDownLatch(1);
+        CountDownLatch slowReceivedLast = new CountDownLatch(1);
+
+        RecordingSink slow = new RecordingSink(release) {
+            @Override
+            public void send(Integer item) {
+                super.send(item);
+                if (item == 9) {
+                    slowReceivedLast.countDown();
+                }
+            }
+        };
+        RecordingSink fast = new RecordingSink(null) {
+            @Override
+            public void send(Integer item) {
+                super.send(item);
+                if (item == 9) {
+                    fastReceivedLast.countDown();
+                }
+            }
+        };
+        engine.subscribe(slow);
+        engine.subscribe(fast);
+
+        for (int i = 0; i < 10; i++) {
+            engine.publish(i);
+        }
+        assertTrue(fastReceivedLast.await(1, TimeUnit.SECONDS));
+        assertTrue(slow.items.isEmpty());
+        release.countDown();
+        assertTrue(slowReceivedLast.await(1, TimeUnit.SECONDS));
+
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(1, TimeUnit.SECONDS));
+        assertTrue(engine.getDroppedCount() > 0);
+        assertEquals(Integer.valueOf(9), slow.items.get(slow.items.size() - 1));
+        assertEquals(0, engine.getDisconnectedCount());
+    }
+
+    @Test
+    public void test_02_conflate_keeps_latest_and_disconnect_closes_client() {
+
+        List<Runnable> drains = new CopyOnWriteArrayList<>();
+        FanOutEngine<Integer> conflating = new FanOutEngine<>(drains::add, 2, OverflowPolicy.CONFLATE_LATEST, 16);
+        RecordingSink sink = new RecordingSink(null);
+        conflating.subscribe(sink);
+        for (int i = 0; i < 5; i++) {
+            conflating.publish(i);
+        }
+        drains.forEach(Runnable::run);
+        assertEquals(List.of(4), sink.items);
+
+        FanOutEngine<Integer> disconnecting = new FanOutEngine<>(task -> { }, 2, OverflowPolicy.DISCONNECT, 16);
+        RecordingSink dropped = new RecordingSink(null);
+        disconnecting.subscribe(dropped);
+        for (int i = 0; i < 3; i++) {
+            disconnecting.publish(i);
+        }
+        assertTrue(dropped.closed);
+        assertEquals(0, disconnecting.getSubscriberCount());
+        assertEquals(1, disconnecting.getDisconnectedCount());
+    }
+
+    private static class RecordingSink implements ClientSink<Integer> {
+
+        private final List<Integer> items = new CopyOnWriteArrayList<>();
+        private final CountDownLatch gate;
+        private volatile boolean closed;
+
+        private RecordingSink(CountDownLatch gate) {
+            this.gate = gate;
+        }
+
+        @Override
+        public void send(Integer item) {
+            if (gate != null) {
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            items.add(item);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package org.bajiepka.reactivewebapp.stream;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class ReplayLogTests {
+
+    @Test
+    public void test_01_replays_items_after_the_given_id() {
+
+        ReplayLog<Long> replayLog = new ReplayLog<>(8);
+        for (int i = 0; i < 5; i++) {
+            replayLog.append(id -> id * 10);
+        }
+
+        assertEquals(5, replayLog.getLastId());
+        assertEquals(Arrays.asList(40L, 50L), replayLog.since(3));
+        assertEquals(Collections.emptyList(), replayLog.since(5));
+        assertEquals(5, replayLog.since(0).size());
+    }
+
+    @Test
+    public void test_02_keeps_only_the_most_recent_capacity_items() {
+
+        ReplayLog<Long> replayLog = new ReplayLog<>(5);
+        assertEquals(8, replayLog.getCapacity());
+        for (int i = 0; i < 20; i++) {
+            replayLog.append(id -> id);
+        }
+
+        List<Long> replayed = replayLog.since(2);
+        assertEquals(8, replayed.size());
+        assertEquals(Long.valueOf(13), replayed.get(0));
+        assertEquals(Long.valueOf(20), replayed.get(7));
+    }
+
+    @Test
+    public void test_03_failed_append_leaves_a_gap() {
+
+        ReplayLog<Long> replayLog = new ReplayLog<>(8);
+        replayLog.append(id -> id);
+        try {
+            replayLog.append(id -> {
+                throw new IllegalStateException("serialization failed");
+            });
+            fail();
+        } catch (IllegalStateException expected) {
+        }
+        replayLog.append(id -> id);
+
+        assertEquals(Arrays.asList(1L, 3L), replayLog.since(0));
+    }
+
+    @Test
+    public void test_04_reader_stops_before_an_unfinished_append() throws InterruptedException {
+
+        ReplayLog<Long> replayLog = new ReplayLog<>(8);
+        replayLog.append(id -> id);
+        CountDownLatch claimed = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread writer = new Thread(() -> replayLog.append(id -> {
+            claimed.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return id;
+        }));
+        writer.start();
+
+        assertTrue(claimed.await(5, TimeUnit.SECONDS));
+        assertEquals(Collections.singletonList(1L), replayLog.since(0));
+        release.countDown();
+        writer.join();
+        assertEquals(Arrays.asList(1L, 2L), replayLog.since(0));
+    }
+}
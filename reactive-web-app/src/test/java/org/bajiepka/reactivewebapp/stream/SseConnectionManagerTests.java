@@ -0,0 +1,76 @@
+package org.bajiepka.reactivewebapp.stream;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.junit.Assert.*;
+
+public class SseConnectionManagerTests {
+
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+
+    @After
+    public void tearDown() {
+        timer.shutdownNow();
+    }
+
+    @Test
+    public void test_01_connections_are_capped_per_client() {
+
+        SseConnectionManager manager = new SseConnectionManager(timer, Runnable::run, Duration.ZERO,
+                Duration.ofSeconds(15), Duration.ofSeconds(60), 2);
+        SseConnectionManager.Connection first = manager.open("10.0.0.1");
+        manager.open("10.0.0.1");
+        manager.open("10.0.0.2");
+
+        try {
+            manager.open("10.0.0.1");
+            fail();
+        } catch (ResponseStatusException e) {
+            assertEquals(HttpStatus.TOO_MANY_REQUESTS, e.getStatus());
+        }
+        assertEquals(1, manager.getRejectedCount());
+        assertEquals(3, manager.getActiveCount());
+
+        first.close();
+        manager.open("10.0.0.1");
+        assertEquals(3, manager.getActiveCount());
+        assertEquals(4, manager.getOpenedCount());
+    }
+
+    @Test
+    public void test_02_stream_without_writes_is_evicted() throws InterruptedException {
+
+        SseConnectionManager manager = new SseConnectionManager(timer, task -> {
+        }, Duration.ZERO, Duration.ofMillis(20), Duration.ofMillis(100), 1);
+        manager.open("10.0.0.1");
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (manager.getActiveCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(0, manager.getActiveCount());
+        assertEquals(1, manager.getEvictedCount());
+        manager.open("10.0.0.1");
+    }
+
+    @Test
+    public void test_03_heartbeats_keep_a_quiet_stream_open() throws InterruptedException {
+
+        SseConnectionManager manager = new SseConnectionManager(timer, Runnable::run, Duration.ZERO,
+                Duration.ofMillis(20), Duration.ofMillis(100), 1);
+        manager.open("10.0.0.1");
+
+        Thread.sleep(400);
+
+        assertEquals(1, manager.getActiveCount());
+        assertEquals(0, manager.getEvictedCount());
+    }
+}
@@ -0,0 +1,31 @@
+package org.bajiepka.reactivewebapp.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+public class SseFrameTests {
+
+    @Test
+    public void test_01_id_carries_the_epoch() throws Exception {
+
+        SseFrame frame = SseFrame.of(new ObjectMapper(), 42, 7);
+        byte[] wire = (byte[]) frame.build().iterator().next().getData();
+
+        assertEquals("id:" + SseFrame.EPOCH + "-7\ndata:42\n\n", new String(wire, StandardCharsets.UTF_8));
+        assertEquals(7, SseFrame.parseId(SseFrame.EPOCH + "-7"));
+    }
+
+    @Test
+    public void test_02_ids_of_another_epoch_are_not_resumed() {
+
+        assertEquals(SseFrame.NO_ID, SseFrame.parseId("7"));
+        assertEquals(SseFrame.NO_ID, SseFrame.parseId(SseFrame.EPOCH + "0-7"));
+        assertEquals(SseFrame.NO_ID, SseFrame.parseId(SseFrame.EPOCH + "-x"));
+        assertEquals(SseFrame.NO_ID, SseFrame.parseId(SseFrame.EPOCH + "--7"));
+        assertEquals(SseFrame.NO_ID, SseFrame.parseId(null));
+    }
+}
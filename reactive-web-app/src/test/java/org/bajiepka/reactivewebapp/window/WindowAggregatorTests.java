@@ -0,0 +1,86 @@
+package org.bajiepka.reactivewebapp.window;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class WindowAggregatorTests {
+
+    @Test
+    public void test_01_tumbling_window_closes_on_pane_boundary() {
+
+        WindowAggregator aggregator = new WindowAggregator(1_000, 2, 4, 2);
+        List<WindowSummary> summaries = new ArrayList<>();
+        aggregator.addListener(summaries::add);
+
+        for (int i = 1; i <= 100; i++) {
+            aggregator.add(i * 10, i);
+        }
+        aggregator.add(1_500, 200);
+        assertTrue(summaries.isEmpty());
+
+        aggregator.add(2_000, 0);
+        assertEquals(2, summaries.size());
+
+        WindowSummary tumbling = summaries.get(0);
+        assertEquals("tumbling", tumbling.getWindow());
+        assertEquals(0, tumbling.getStart());
+        assertEquals(2_000, tumbling.getEnd());
+        assertEquals(101, tumbling.getCount());
+        assertEquals(1, tumbling.getMin(), 0.0);
+        assertEquals(200, tumbling.getMax(), 0.0);
+        assertEquals(51, tumbling.getP50(), 0.1);
+        assertEquals(100, tumbling.getP99(), 0.1);
+
+        WindowSummary sliding = summaries.get(1);
+        assertEquals("sliding", sliding.getWindow());
+        assertEquals(-2_000, sliding.getStart());
+        assertEquals(101, sliding.getCount());
+    }
+
+    @Test
+    public void test_02_sliding_window_merges_panes_and_drops_late_readings() {
+
+        WindowAggregator aggregator = new WindowAggregator(1_000, 10, 3, 1);
+        List<WindowSummary> sliding = new ArrayList<>();
+        aggregator.addListener(summary -> {
+            if ("sliding".equals(summary.getWindow())) {
+                sliding.add(summary);
+            }
+        });
+
+        for (int second = 0; second < 5; second++) {
+            aggregator.add(second * 1_000, second);
+        }
+        aggregator.add(500, 42);
+        aggregator.add(5_000, 5);
+
+        WindowSummary last = sliding.get(sliding.size() - 1);
+        assertEquals(2_000, last.getStart());
+        assertEquals(5_000, last.getEnd());
+        assertEquals(3, last.getCount());
+        assertEquals(3, last.getMean(), 0.0);
+
+        aggregator.add(-20_000, 1);
+        assertEquals(1, aggregator.getLateReadings());
+    }
+
+    @Test
+    public void test_03_idle_gap_skips_empty_windows() {
+
+        WindowAggregator aggregator = new WindowAggregator(1_000, 2, 4, 2);
+        List<WindowSummary> summaries = new ArrayList<>();
+        aggregator.addListener(summaries::add);
+
+        aggregator.add(0, 1);
+        aggregator.add(3_600_000, 2);
+
+        assertEquals(3, summaries.size());
+        for (WindowSummary summary : summaries) {
+            assertEquals(1, summary.getCount());
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package org.bajiepka.concurrency.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks of this package on 1, 2, 4 ... N threads, N being the number of available processors.
+ * The optional first argument is a regexp selecting the benchmarks, results go to benchmark-threads-N.json.
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : BenchmarkRunner.class.getPackage().getName() + ".*";
+        int maxThreads = Runtime.getRuntime().availableProcessors();
+
+        for (int threads = 1; ; threads = Math.min(threads * 2, maxThreads)) {
+            Options options = new OptionsBuilder()
+                    .include(include)
+                    .threads(threads)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result("benchmark-threads-" + threads + ".json")
+                    .build();
+            new Runner(options).run();
+
+            if (threads == maxThreads) {
+                break;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,60 @@
+package org.bajiepka.concurrency.benchmark;
+
+import org.bajiepka.concurrency.collector.ResultCollector;
+import org.bajiepka.concurrency.executor.CountdownLatchWorker;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CountdownLatchWorkerBenchmark {
+
+    @Param({"3", "10"})
+    private int workers;
+
+    private ExecutorService pool;
+
+    @Setup
+    public void setUp() {
+        pool = Executors.newFixedThreadPool(workers);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Benchmark
+    public List<String> fanOut() throws InterruptedException {
+        List<String> outputScraper = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch countDownLatch = new CountDownLatch(workers);
+        for (int i = 0; i < workers; i++) {
+            pool.execute(new CountdownLatchWorker(outputScraper::add, countDownLatch, 0));
+        }
+        countDownLatch.await();
+        return outputScraper;
+    }
+
+    @Benchmark
+    public List<String> fanOutCollector() throws InterruptedException {
+        ResultCollector<String> outputScraper = new ResultCollector<>();
+        CountDownLatch countDownLatch = new CountDownLatch(workers);
+        for (int i = 0; i < workers; i++) {
+            pool.execute(new CountdownLatchWorker(outputScraper, countDownLatch, 0));
+        }
+        countDownLatch.await();
+        return outputScraper.drainToList();
+    }
+
+}
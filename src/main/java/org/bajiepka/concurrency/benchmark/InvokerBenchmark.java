@@ -0,0 +1,57 @@
+package org.bajiepka.concurrency.benchmark;
+
+import org.bajiepka.concurrency.executor.Invoker;
+import org.bajiepka.concurrency.executor.WorkStealingInvoker;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InvokerBenchmark {
+
+    private static final int BATCH = 100;
+
+    @Param({"direct", "work-stealing"})
+    private String mode;
+
+    private Executor invoker;
+
+    @Setup
+    public void setUp() {
+        invoker = "direct".equals(mode) ? new Invoker() : new WorkStealingInvoker();
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (invoker instanceof WorkStealingInvoker) {
+            ((WorkStealingInvoker) invoker).shutdown();
+        }
+    }
+
+    @Benchmark
+    public void execute(Blackhole blackhole) {
+        invoker.execute(() -> blackhole.consume(System.nanoTime()));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void executeBatch() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            invoker.execute(() -> {
+                Blackhole.consumeCPU(1_000);
+                done.countDown();
+            });
+        }
+        done.await();
+    }
+
+}
@@ -0,0 +1,52 @@
+package org.bajiepka.concurrency.benchmark;
+
+import org.bajiepka.concurrency.semaphore.LoginQueueUsingSemaphore;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoginQueueBenchmark {
+
+    @Param({"10", "1000"})
+    private int slots;
+
+    private LoginQueueUsingSemaphore loginQueue;
+    private Semaphore semaphore;
+
+    @Setup
+    public void setUp() {
+        loginQueue = new LoginQueueUsingSemaphore(slots);
+        semaphore = new Semaphore(slots);
+    }
+
+    @Benchmark
+    public boolean loginLogout() {
+        boolean loggedIn = loginQueue.tryLogin();
+        if (loggedIn) {
+            loginQueue.logout();
+        }
+        return loggedIn;
+    }
+
+    @Benchmark
+    public boolean semaphoreBaseline() {
+        boolean acquired = semaphore.tryAcquire();
+        if (acquired) {
+            semaphore.release();
+        }
+        return acquired;
+    }
+
+    @Benchmark
+    public int availableSlots() {
+        return loginQueue.availableSlots();
+    }
+
+}
@@ -0,0 +1,70 @@
+package org.bajiepka.concurrency.benchmark;
+
+import org.bajiepka.concurrency.collector.ResultCollector;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 64 producers publish into a synchronized list and into a {@link ResultCollector}. Every producer drains
+ * the sink after each {@value #DRAIN_EVERY} of its own results, which keeps the memory bounded and puts
+ * a drain concurrent with the publishing of the other threads. {@link BenchmarkRunner} overrides the thread
+ * count, run it alone to get the 64 threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(64)
+@Fork(1)
+public class ResultSinkBenchmark {
+
+    private static final String RESULT = "counted down!";
+    private static final int DRAIN_EVERY = 1_024;
+
+    private List<String> synchronizedList;
+    private ResultCollector<String> collector;
+
+    @State(Scope.Thread)
+    public static class Producer {
+
+        private int published;
+
+        private boolean shouldDrain() {
+            return ++published % DRAIN_EVERY == 0;
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        synchronizedList = Collections.synchronizedList(new ArrayList<>());
+        collector = new ResultCollector<>();
+    }
+
+    @Benchmark
+    public void synchronizedList(Producer producer, Blackhole blackhole) {
+        synchronizedList.add(RESULT);
+        if (producer.shouldDrain()) {
+            List<String> drained;
+            synchronized (synchronizedList) {
+                drained = new ArrayList<>(synchronizedList);
+                synchronizedList.clear();
+            }
+            drained.forEach(blackhole::consume);
+        }
+    }
+
+    @Benchmark
+    public void collector(Producer producer, Blackhole blackhole) {
+        collector.publish(RESULT);
+        if (producer.shouldDrain()) {
+            collector.drain(blackhole::consume);
+        }
+    }
+
+}
@@ -0,0 +1,87 @@
+package org.bajiepka.concurrency.benchmark;
+
+import org.bajiepka.concurrency.configuration.BeansConfig;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScheduledExecutorBenchmark {
+
+    @Param({"single_scheduled_executor", "multi_scheduled_executor", "wheel_scheduled_executor"})
+    private String executorBean;
+
+    @Param({"platform", "virtual"})
+    private String schedulerMode;
+
+    private AnnotationConfigApplicationContext ctx;
+    private ScheduledExecutorService executor;
+
+    @Setup
+    public void setUp() {
+        ctx = new AnnotationConfigApplicationContext();
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("concurrency.scheduler.mode", schedulerMode);
+        properties.put("concurrency.wheel.enabled", "true");
+        properties.put("concurrency.wheel.tick-millis", "1");
+        ctx.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark", properties));
+        ctx.register(BeansConfig.class);
+        ctx.refresh();
+        executor = ctx.getBean(executorBean, ScheduledExecutorService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        ctx.close();
+    }
+
+    @Benchmark
+    public Long submitRoundTrip() throws ExecutionException, InterruptedException {
+        return executor.submit(System::nanoTime).get();
+    }
+
+    @Benchmark
+    public Long scheduleRoundTrip() throws ExecutionException, InterruptedException {
+        return executor.schedule(System::nanoTime, 0, TimeUnit.NANOSECONDS).get();
+    }
+
+    @Benchmark
+    public boolean scheduleAndCancel() {
+        ScheduledFuture<?> future = executor.schedule(System::nanoTime, 1, TimeUnit.MINUTES);
+        return future.cancel(false);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int blockingFanOut() throws ExecutionException, InterruptedException {
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            int value = i;
+            futures.add(executor.submit(() -> {
+                Thread.sleep(10);
+                return value;
+            }));
+        }
+        int sum = 0;
+        for (Future<Integer> future : futures) {
+            sum += future.get();
+        }
+        return sum;
+    }
+
+}
@@ -0,0 +1,41 @@
+package org.bajiepka.concurrency.benchmark;
+
+import org.bajiepka.concurrency.executor.SemaphoreInvoker;
+import org.bajiepka.concurrency.semaphore.AdaptiveSemaphore;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SemaphoreInvokerBenchmark {
+
+    @Param({"3"})
+    private int permits;
+
+    @Param({"0", "1"})
+    private long workMillis;
+
+    @Param({"fixed", "adaptive"})
+    private String limiter;
+
+    private Semaphore semaphore;
+    private SemaphoreInvoker invoker;
+
+    @Setup
+    public void setUp() {
+        semaphore = "fixed".equals(limiter) ? new Semaphore(permits) : new AdaptiveSemaphore(permits, 1, 200);
+        invoker = new SemaphoreInvoker(semaphore, workMillis);
+    }
+
+    @Benchmark
+    public void guardedRun() {
+        invoker.run();
+    }
+
+}
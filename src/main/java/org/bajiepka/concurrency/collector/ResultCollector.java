@@ -0,0 +1,123 @@
+package org.bajiepka.concurrency.collector;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.function.Consumer;
+
+/**
+ * Multi-producer, single-consumer result sink. Every producing thread appends into its own chunked buffer,
+ * so publishing never contends with other producers: it is a plain array store followed by an ordered
+ * write of the chunk size. Buffers are registered once per thread and merged by {@link #drain(Consumer)}.
+ * The buffer of a thread that has terminated is dropped by the first drain after its end, so short-lived or
+ * replaced pool threads do not pile up buffers.
+ * <p>
+ * Results of one thread are drained in publication order, there is no ordering between threads.
+ */
+public class ResultCollector<T> implements ResultSink<T> {
+
+    private static final int CHUNK_SIZE = 256;
+
+    private final Queue<Buffer<T>> buffers = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<Buffer<T>> local = ThreadLocal.withInitial(this::register);
+
+    @Override
+    public void publish(T result) {
+        local.get().append(result);
+    }
+
+    /**
+     * Hands every result published since the previous drain to the consumer. Drains are serialized,
+     * producers may keep publishing meanwhile.
+     *
+     * @return number of drained results
+     */
+    public synchronized int drain(Consumer<? super T> consumer) {
+        int drained = 0;
+        for (Iterator<Buffer<T>> iterator = buffers.iterator(); iterator.hasNext(); ) {
+            Buffer<T> buffer = iterator.next();
+            // checked before draining: a terminated owner published everything this drain is going to see
+            boolean orphaned = !buffer.owner.isAlive();
+            drained += buffer.drain(consumer);
+            if (orphaned) {
+                iterator.remove();
+            }
+        }
+        return drained;
+    }
+
+    public List<T> drainToList() {
+        List<T> results = new ArrayList<>();
+        drain(results::add);
+        return results;
+    }
+
+    int bufferCount() {
+        return buffers.size();
+    }
+
+    private Buffer<T> register() {
+        Buffer<T> buffer = new Buffer<>(Thread.currentThread());
+        buffers.add(buffer);
+        return buffer;
+    }
+
+    private static final class Buffer<T> {
+
+        private final Thread owner;
+        private Chunk<T> tail = new Chunk<>();
+        private Chunk<T> head = tail;
+        private int readIndex;
+
+        private Buffer(Thread owner) {
+            this.owner = owner;
+        }
+
+        private void append(T result) {
+            Chunk<T> chunk = tail;
+            int size = chunk.size;
+            if (size == CHUNK_SIZE) {
+                Chunk<T> next = new Chunk<>();
+                chunk.next = next;
+                tail = chunk = next;
+                size = 0;
+            }
+            chunk.items[size] = result;
+            Chunk.SIZE.lazySet(chunk, size + 1);
+        }
+
+        @SuppressWarnings("unchecked")
+        private int drain(Consumer<? super T> consumer) {
+            int drained = 0;
+            while (true) {
+                Chunk<T> chunk = head;
+                int size = chunk.size;
+                for (; readIndex < size; readIndex++) {
+                    consumer.accept((T) chunk.items[readIndex]);
+                    chunk.items[readIndex] = null;
+                    drained++;
+                }
+                if (size < CHUNK_SIZE || chunk.next == null) {
+                    return drained;
+                }
+                head = chunk.next;
+                readIndex = 0;
+            }
+        }
+    }
+
+    private static final class Chunk<T> {
+
+        @SuppressWarnings("unchecked")
+        private static final AtomicIntegerFieldUpdater<Chunk<?>> SIZE =
+                AtomicIntegerFieldUpdater.newUpdater((Class<Chunk<?>>) (Class<?>) Chunk.class, "size");
+
+        private final Object[] items = new Object[CHUNK_SIZE];
+        volatile int size;
+        private volatile Chunk<T> next;
+    }
+
+}
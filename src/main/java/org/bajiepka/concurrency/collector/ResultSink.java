@@ -0,0 +1,11 @@
+package org.bajiepka.concurrency.collector;
+
+/**
+ * Append-only destination for the results produced by workers, e.g. {@code list::add} or a {@link ResultCollector}.
+ */
+@FunctionalInterface
+public interface ResultSink<T> {
+
+    void publish(T result);
+
+}
@@ -1,6 +1,5 @@
 package org.bajiepka.concurrency.configuration;
 
-import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -8,11 +7,13 @@ import org.springframework.context.annotation.Configuration;
 public class ApplicationConfig {
 
     @Bean
-    AnnotationConfigApplicationContext annotationConfigApplicationContext() {
-        AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext();
-        ctx.register(BeansConfig.class);
-        ctx.refresh();
-        return ctx;
+    static LazyInitializationPostProcessor lazyInitializationPostProcessor() {
+        return new LazyInitializationPostProcessor();
+    }
+
+    @Bean
+    static StartupTimeReporter startupTimeReporter() {
+        return new StartupTimeReporter();
     }
 
 }
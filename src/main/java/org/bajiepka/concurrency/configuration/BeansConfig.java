@@ -1,13 +1,24 @@
 package org.bajiepka.concurrency.configuration;
 
+import org.bajiepka.concurrency.executor.HashedWheelScheduledExecutor;
+import org.bajiepka.concurrency.executor.InstrumentingTaskDecorator;
+import org.bajiepka.concurrency.executor.VirtualThreadScheduledExecutor;
+import org.bajiepka.concurrency.executor.WorkStealingInvoker;
+import org.bajiepka.concurrency.metrics.TaskMetrics;
+import org.bajiepka.concurrency.semaphore.AdaptiveSemaphore;
+import org.bajiepka.concurrency.semaphore.Bulkhead;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
+@EnableConfigurationProperties(ExecutorProperties.class)
 public class BeansConfig {
 
     @Bean(name = "single_scheduled_executor")
@@ -16,13 +27,54 @@ public class BeansConfig {
     }
 
     @Bean(name = "multi_scheduled_executor")
-    ScheduledExecutorService multiScheduledExecutorService() {
-        return Executors.newScheduledThreadPool(10);
+    ScheduledExecutorService multiScheduledExecutorService(
+            @Value("${concurrency.scheduler.mode:platform}") String mode,
+            @Value("${concurrency.scheduler.pool-size:10}") int poolSize) {
+        switch (mode.trim().toLowerCase()) {
+            case "platform":
+                return Executors.newScheduledThreadPool(poolSize);
+            case "virtual":
+                return new VirtualThreadScheduledExecutor("multi-scheduled-executor");
+            default:
+                throw new IllegalArgumentException("Unknown concurrency.scheduler.mode: " + mode);
+        }
+    }
+
+    @Bean(name = "wheel_scheduled_executor")
+    @ConditionalOnProperty(name = "concurrency.wheel.enabled", havingValue = "true")
+    ScheduledExecutorService wheelScheduledExecutorService(
+            @Value("${concurrency.wheel.tick-millis:10}") long tickMillis,
+            @Value("${concurrency.wheel.ticks-per-wheel:512}") int ticksPerWheel,
+            @Value("${concurrency.wheel.worker-threads:4}") int workerThreads) {
+        return new HashedWheelScheduledExecutor("wheel-scheduled-executor", tickMillis, TimeUnit.MILLISECONDS,
+                ticksPerWheel, Executors.newFixedThreadPool(workerThreads));
+    }
+
+    @Bean
+    TaskMetrics taskMetrics() {
+        return new TaskMetrics();
+    }
+
+    @Bean(name = "work_stealing_invoker", destroyMethod = "shutdown")
+    WorkStealingInvoker workStealingInvoker(TaskMetrics taskMetrics) {
+        WorkStealingInvoker invoker = new WorkStealingInvoker();
+        invoker.setTaskDecorator(new InstrumentingTaskDecorator(taskMetrics, "work_stealing_invoker"));
+        return invoker;
+    }
+
+    @Bean
+    AdaptiveSemaphore semaphore(
+            @Value("${concurrency.limiter.initial-limit:3}") int initialLimit,
+            @Value("${concurrency.limiter.min-limit:1}") int minLimit,
+            @Value("${concurrency.limiter.max-limit:200}") int maxLimit,
+            @Value("${concurrency.limiter.backoff-ratio:0.9}") double backoffRatio,
+            @Value("${concurrency.limiter.tolerance:2.0}") double tolerance) {
+        return new AdaptiveSemaphore(initialLimit, minLimit, maxLimit, backoffRatio, tolerance, 1_000);
     }
 
     @Bean
-    Semaphore semaphore() {
-        return new Semaphore(3);
+    Bulkhead bulkhead(AdaptiveSemaphore semaphore) {
+        return new Bulkhead("semaphore-invokers", semaphore);
     }
 
 }
@@ -0,0 +1,295 @@
+package org.bajiepka.concurrency.configuration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.bajiepka.concurrency.executor.InstrumentingTaskDecorator;
+import org.bajiepka.concurrency.metrics.TaskMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Creates named, bounded thread pools from {@link ExecutorProperties} on first use and shuts all of them down
+ * gracefully when the context is closed. Every task is instrumented into {@link TaskMetrics}.
+ * <p>
+ * The pools are shared, so callers get a view that cannot shut them down; only the registry does, and after
+ * that it hands out no pools anymore.
+ */
+@Slf4j
+@Component
+public class ExecutorRegistry implements DisposableBean {
+
+    private final ExecutorProperties properties;
+    private final TaskMetrics taskMetrics;
+    private final Map<String, ManagedPool> pools = new ConcurrentHashMap<>();
+    private volatile boolean destroyed;
+
+    public ExecutorRegistry(ExecutorProperties properties, TaskMetrics taskMetrics) {
+        this.properties = properties;
+        this.taskMetrics = taskMetrics;
+    }
+
+    /**
+     * @throws IllegalStateException once the registry has been destroyed
+     */
+    public ExecutorService get(String name) {
+        ManagedPool pool = pools.get(name);
+        if (pool == null) {
+            synchronized (pools) {
+                checkNotDestroyed();
+                pool = pools.computeIfAbsent(name, this::create);
+            }
+        }
+        checkNotDestroyed();
+        return pool.view;
+    }
+
+    public Map<String, PoolStats> stats() {
+        Map<String, PoolStats> stats = new LinkedHashMap<>();
+        pools.forEach((name, pool) -> stats.put(name, pool.stats()));
+        return stats;
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        synchronized (pools) {
+            destroyed = true;
+        }
+        pools.values().forEach(ThreadPoolExecutor::shutdown);
+
+        long deadline = System.nanoTime() + properties.getShutdownTimeout().toNanos();
+        for (ManagedPool pool : pools.values()) {
+            if (!pool.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                log.warn("Pool {} did not terminate in {}, interrupting {} running tasks",
+                        pool.name, properties.getShutdownTimeout(), pool.getActiveCount());
+                pool.shutdownNow();
+            }
+        }
+    }
+
+    private void checkNotDestroyed() {
+        if (destroyed) {
+            throw new IllegalStateException("Executor registry has been destroyed");
+        }
+    }
+
+    private ManagedPool create(String name) {
+        ExecutorProperties.Pool settings = properties.getPools().getOrDefault(name, properties.getDefaults());
+        log.debug("Creating pool {}: core {}, max {}, queue {}, {}", name, settings.getCoreSize(),
+                settings.getMaxSize(), settings.getQueueCapacity(), settings.getRejectionPolicy());
+        return new ManagedPool(name, settings, new InstrumentingTaskDecorator(taskMetrics, name));
+    }
+
+    private static RejectedExecutionHandler handlerFor(ExecutorProperties.RejectionPolicy policy) {
+        switch (policy) {
+            case CALLER_RUNS:
+                return new ThreadPoolExecutor.CallerRunsPolicy();
+            case DISCARD:
+                return new ThreadPoolExecutor.DiscardPolicy();
+            case DISCARD_OLDEST:
+                return new ThreadPoolExecutor.DiscardOldestPolicy();
+            default:
+                return new ThreadPoolExecutor.AbortPolicy();
+        }
+    }
+
+    private static final class ManagedPool extends ThreadPoolExecutor {
+
+        private final String name;
+        private final LongAdder rejected;
+        private final LongAdder callerRuns;
+        private final InstrumentingTaskDecorator decorator;
+        private final ExecutorService view = new PoolView(this);
+
+        private ManagedPool(String name, ExecutorProperties.Pool settings, InstrumentingTaskDecorator decorator) {
+            this(name, settings, decorator, new LongAdder(), new LongAdder());
+        }
+
+        private ManagedPool(String name, ExecutorProperties.Pool settings, InstrumentingTaskDecorator decorator,
+                            LongAdder rejected, LongAdder callerRuns) {
+            super(settings.getCoreSize(), Math.max(settings.getCoreSize(), settings.getMaxSize()),
+                    settings.getKeepAlive().toNanos(), TimeUnit.NANOSECONDS,
+                    settings.getQueueCapacity() > 0
+                            ? new ArrayBlockingQueue<>(settings.getQueueCapacity())
+                            : new SynchronousQueue<>(),
+                    namedThreadFactory(name),
+                    countingHandler(settings.getRejectionPolicy(), rejected, callerRuns));
+            this.name = name;
+            this.rejected = rejected;
+            this.callerRuns = callerRuns;
+            this.decorator = decorator;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            super.execute(command instanceof DecoratedFuture ? command : decorator.decorate(command));
+        }
+
+        @Override
+        protected <T> RunnableFuture<T> newTaskFor(Runnable runnable, T value) {
+            return new DecoratedFuture<>(Executors.callable(decorator.decorate(runnable), value));
+        }
+
+        @Override
+        protected <T> RunnableFuture<T> newTaskFor(Callable<T> callable) {
+            return new DecoratedFuture<>(decorator.decorateCallable(callable));
+        }
+
+        private PoolStats stats() {
+            return new PoolStats(getPoolSize(), getActiveCount(), getLargestPoolSize(), getQueue().size(),
+                    getQueue().remainingCapacity(), getCompletedTaskCount(), rejected.sum(), callerRuns.sum());
+        }
+
+        /**
+         * A task run by the caller of a live pool is throttling, not a rejection, and is counted apart.
+         */
+        private static RejectedExecutionHandler countingHandler(ExecutorProperties.RejectionPolicy policy,
+                                                                LongAdder rejected, LongAdder callerRuns) {
+            RejectedExecutionHandler delegate = handlerFor(policy);
+            return (task, executor) -> {
+                if (policy == ExecutorProperties.RejectionPolicy.CALLER_RUNS && !executor.isShutdown()) {
+                    callerRuns.increment();
+                } else {
+                    rejected.increment();
+                }
+                delegate.rejectedExecution(task, executor);
+            };
+        }
+
+        private static ThreadFactory namedThreadFactory(String name) {
+            AtomicInteger counter = new AtomicInteger();
+            return runnable -> new Thread(runnable, name + "-" + counter.incrementAndGet());
+        }
+    }
+
+    /**
+     * Shared pool as handed out to callers: everything but shutting it down is delegated.
+     */
+    private static final class PoolView extends AbstractExecutorService {
+
+        private final ManagedPool pool;
+
+        private PoolView(ManagedPool pool) {
+            this.pool = pool;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            pool.execute(command);
+        }
+
+        @Override
+        public Future<?> submit(Runnable task) {
+            return pool.submit(task);
+        }
+
+        @Override
+        public <T> Future<T> submit(Runnable task, T result) {
+            return pool.submit(task, result);
+        }
+
+        @Override
+        public <T> Future<T> submit(Callable<T> task) {
+            return pool.submit(task);
+        }
+
+        @Override
+        public void shutdown() {
+            throw new UnsupportedOperationException("Pool " + pool.name + " is shut down by the registry");
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            throw new UnsupportedOperationException("Pool " + pool.name + " is shut down by the registry");
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return pool.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return pool.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return pool.awaitTermination(timeout, unit);
+        }
+
+        @Override
+        public String toString() {
+            return pool.toString();
+        }
+    }
+
+    private static final class DecoratedFuture<T> extends FutureTask<T> {
+
+        private DecoratedFuture(Callable<T> callable) {
+            super(callable);
+        }
+    }
+
+    public static class PoolStats {
+
+        private final int poolSize;
+        private final int activeThreads;
+        private final int largestPoolSize;
+        private final int queueDepth;
+        private final int queueRemainingCapacity;
+        private final long completedTasks;
+        private final long rejectedTasks;
+        private final long callerRunsTasks;
+
+        public PoolStats(int poolSize, int activeThreads, int largestPoolSize, int queueDepth,
+                         int queueRemainingCapacity, long completedTasks, long rejectedTasks, long callerRunsTasks) {
+            this.poolSize = poolSize;
+            this.activeThreads = activeThreads;
+            this.largestPoolSize = largestPoolSize;
+            this.queueDepth = queueDepth;
+            this.queueRemainingCapacity = queueRemainingCapacity;
+            this.completedTasks = completedTasks;
+            this.rejectedTasks = rejectedTasks;
+            this.callerRunsTasks = callerRunsTasks;
+        }
+
+        public int getPoolSize() {
+            return poolSize;
+        }
+
+        public int getActiveThreads() {
+            return activeThreads;
+        }
+
+        public int getLargestPoolSize() {
+            return largestPoolSize;
+        }
+
+        public int getQueueDepth() {
+            return queueDepth;
+        }
+
+        public int getQueueRemainingCapacity() {
+            return queueRemainingCapacity;
+        }
+
+        public long getCompletedTasks() {
+            return completedTasks;
+        }
+
+        public long getRejectedTasks() {
+            return rejectedTasks;
+        }
+
+        public long getCallerRunsTasks() {
+            return callerRunsTasks;
+        }
+    }
+
+}
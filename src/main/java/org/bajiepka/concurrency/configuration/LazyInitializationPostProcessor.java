@@ -0,0 +1,101 @@
+package org.bajiepka.concurrency.configuration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.env.Environment;
+import org.springframework.core.type.MethodMetadata;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Marks application beans as lazy when {@code concurrency.startup.lazy-initialization} is set, so executors and
+ * their threads are only created once something actually uses them.
+ * <p>
+ * Beans that must exist to have any effect stay eager: Spring's own and auto-configured beans, and beans with
+ * {@link Scheduled} or {@link EventListener} methods, which nothing ever asks for by name.
+ */
+@Slf4j
+public class LazyInitializationPostProcessor implements BeanFactoryPostProcessor, EnvironmentAware {
+
+    private static final String SPRING_PACKAGE = "org.springframework.";
+
+    private boolean enabled;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.enabled = environment.getProperty("concurrency.startup.lazy-initialization", Boolean.class, false);
+    }
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) throws BeansException {
+        if (!enabled) {
+            return;
+        }
+        int count = 0;
+        for (String name : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definition = beanFactory.getBeanDefinition(name);
+            if (definition.getRole() == BeanDefinition.ROLE_APPLICATION && !definition.isLazyInit()
+                    && mayBeLazy(beanFactory, definition)) {
+                definition.setLazyInit(true);
+                count++;
+            }
+        }
+        log.info("Lazy initialization enabled for {} beans", count);
+    }
+
+    private boolean mayBeLazy(ConfigurableListableBeanFactory beanFactory, BeanDefinition definition) {
+        String declaringClass = declaringClassName(beanFactory, definition);
+        if (declaringClass == null || declaringClass.startsWith(SPRING_PACKAGE)) {
+            return false;
+        }
+        String beanClass = beanClassName(definition);
+        if (beanClass == null) {
+            return false;
+        }
+        try {
+            return !hasListenerMethods(ClassUtils.forName(beanClass, beanFactory.getBeanClassLoader()));
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return the class the definition comes from, the configuration class for a {@code @Bean} method
+     */
+    private String declaringClassName(ConfigurableListableBeanFactory beanFactory, BeanDefinition definition) {
+        String factoryBean = definition.getFactoryBeanName();
+        if (factoryBean != null && beanFactory.containsBeanDefinition(factoryBean)) {
+            return beanFactory.getBeanDefinition(factoryBean).getBeanClassName();
+        }
+        return definition.getBeanClassName();
+    }
+
+    private String beanClassName(BeanDefinition definition) {
+        if (definition instanceof AnnotatedBeanDefinition) {
+            MethodMetadata factoryMethod = ((AnnotatedBeanDefinition) definition).getFactoryMethodMetadata();
+            if (factoryMethod != null) {
+                return factoryMethod.getReturnTypeName();
+            }
+        }
+        return definition.getFactoryMethodName() == null ? definition.getBeanClassName() : null;
+    }
+
+    private static boolean hasListenerMethods(Class<?> type) {
+        AtomicBoolean found = new AtomicBoolean();
+        ReflectionUtils.doWithMethods(type, method -> found.set(true),
+                method -> AnnotatedElementUtils.hasAnnotation(method, Scheduled.class)
+                        || AnnotatedElementUtils.hasAnnotation(method, EventListener.class));
+        return found.get();
+    }
+
+}
@@ -0,0 +1,66 @@
+package org.bajiepka.concurrency.configuration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time from instantiation to the end of initialization of every bean and logs the slowest ones
+ * once the application is ready. The time of a bean includes the creation of the beans it depends on.
+ */
+@Slf4j
+public class StartupTimeReporter implements InstantiationAwareBeanPostProcessor, ApplicationListener<ApplicationReadyEvent> {
+
+    private static final int REPORTED_BEANS = 10;
+
+    private final Map<String, Long> startedAt = new ConcurrentHashMap<>();
+    private final Map<String, Long> initNanos = new ConcurrentHashMap<>();
+
+    @Override
+    public Object postProcessBeforeInstantiation(Class<?> beanClass, String beanName) throws BeansException {
+        startedAt.put(beanName, System.nanoTime());
+        return null;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        Long start = startedAt.remove(beanName);
+        if (start != null) {
+            initNanos.put(beanName, System.nanoTime() - start);
+        }
+        return bean;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        long total = initNanos.values().stream().mapToLong(Long::longValue).sum();
+        log.info("Application ready after {} ms of JVM uptime, {} beans initialized",
+                ManagementFactory.getRuntimeMXBean().getUptime(), initNanos.size());
+
+        getInitTimes().entrySet().stream()
+                .limit(REPORTED_BEANS)
+                .forEach(entry -> log.info("  {} ms  {}", TimeUnit.NANOSECONDS.toMillis(entry.getValue()), entry.getKey()));
+        log.debug("Sum of bean initialization times: {} ms", TimeUnit.NANOSECONDS.toMillis(total));
+    }
+
+    /**
+     * @return initialization time in nanoseconds per bean name, slowest first
+     */
+    public Map<String, Long> getInitTimes() {
+        Map<String, Long> sorted = new LinkedHashMap<>();
+        initNanos.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+        return Collections.unmodifiableMap(sorted);
+    }
+
+}
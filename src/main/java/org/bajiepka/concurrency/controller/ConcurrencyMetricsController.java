@@ -0,0 +1,50 @@
+package org.bajiepka.concurrency.controller;
+
+import org.bajiepka.concurrency.configuration.ExecutorRegistry;
+import org.bajiepka.concurrency.metrics.TaskMetrics;
+import org.bajiepka.concurrency.semaphore.Bulkhead;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@RestController
+@RequestMapping("/concurrency")
+public class ConcurrencyMetricsController {
+
+    @Autowired
+    private TaskMetrics taskMetrics;
+
+    @Autowired
+    private ExecutorRegistry executors;
+
+    @Autowired
+    private List<Bulkhead> bulkheads;
+
+    @RequestMapping(value = "/tasks", method = RequestMethod.GET)
+    public Map<String, TaskMetrics.Snapshot> tasks() {
+        return taskMetrics.snapshot();
+    }
+
+    @RequestMapping(value = "/tasks", method = RequestMethod.DELETE)
+    public void resetTasks() {
+        taskMetrics.reset();
+    }
+
+    @RequestMapping(value = "/executors", method = RequestMethod.GET)
+    public Map<String, ExecutorRegistry.PoolStats> executors() {
+        return executors.stats();
+    }
+
+    @RequestMapping(value = "/bulkheads", method = RequestMethod.GET)
+    public Map<String, Bulkhead.Stats> bulkheads() {
+        Map<String, Bulkhead.Stats> byName = new TreeMap<>();
+        bulkheads.forEach(bulkhead -> byName.put(bulkhead.getName(), bulkhead.stats()));
+        return byName;
+    }
+
+}
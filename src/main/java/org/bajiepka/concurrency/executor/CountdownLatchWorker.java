@@ -1,32 +1,42 @@
 package org.bajiepka.concurrency.executor;
 
-import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.bajiepka.concurrency.collector.ResultSink;
+
 import java.util.concurrent.CountDownLatch;
 
+@Slf4j
 public class CountdownLatchWorker implements Runnable {
 
-    private List<String> outputScraper;
+    private ResultSink<String> outputScraper;
     private CountDownLatch countDownLatch;
+    private long workMillis;
+
+    public CountdownLatchWorker(ResultSink<String> outputScraper, CountDownLatch countDownLatch) {
+        this(outputScraper, countDownLatch, 1_000);
+    }
 
-    public CountdownLatchWorker(List<String> outputScraper, CountDownLatch countDownLatch) {
+    public CountdownLatchWorker(ResultSink<String> outputScraper, CountDownLatch countDownLatch, long workMillis) {
         this.outputScraper = outputScraper;
         this.countDownLatch = countDownLatch;
+        this.workMillis = workMillis;
     }
 
     @Override
     public void run() {
         doSomeWork();
-        outputScraper.add("counted down!");
+        outputScraper.publish("counted down!");
         countDownLatch.countDown();
     }
 
     private void doSomeWork() {
 
         try {
-            Thread.sleep(1_000);
-            System.out.println("some job is done...");
+            Thread.sleep(workMillis);
+            log.debug("some job is done...");
         } catch (InterruptedException e) {
-            e.printStackTrace();
+            log.warn("Countdown latch worker interrupted", e);
+            Thread.currentThread().interrupt();
         }
 
     }
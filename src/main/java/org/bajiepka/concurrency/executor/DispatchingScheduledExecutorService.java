@@ -0,0 +1,218 @@
+package org.bajiepka.concurrency.executor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+
+/**
+ * Scheduled executor that separates timing from execution: subclasses only provide a timer,
+ * due tasks are handed over to the worker executor. Delayed tasks that are still pending on
+ * shutdown are cancelled, tasks already handed to the worker are allowed to complete.
+ */
+public abstract class DispatchingScheduledExecutorService extends AbstractExecutorService implements ScheduledExecutorService {
+
+    private static final long MAX_DELAY_NANOS = Long.MAX_VALUE >> 1;
+
+    private final ExecutorService worker;
+    private final Set<ScheduledTask<?>> pending = ConcurrentHashMap.newKeySet();
+    private volatile boolean shutdown;
+
+    protected DispatchingScheduledExecutorService(ExecutorService worker) {
+        this.worker = worker;
+    }
+
+    /**
+     * Arms the timer to run {@code trigger} once after {@code delayNanos}. The trigger is cheap and must not block.
+     */
+    protected abstract Timeout arm(Runnable trigger, long delayNanos);
+
+    protected abstract void stopTimer();
+
+    protected abstract boolean awaitTimer(long timeout, TimeUnit unit) throws InterruptedException;
+
+    protected interface Timeout {
+        boolean cancel();
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        return schedule(Executors.callable(command, null), delay, unit);
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+        ScheduledTask<V> task = new ScheduledTask<>(callable, triggerTime(delay, unit), 0);
+        arm(task);
+        return task;
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("period must be positive");
+        }
+        ScheduledTask<Void> task = new ScheduledTask<>(Executors.callable(command, null),
+                triggerTime(initialDelay, unit), unit.toNanos(period));
+        arm(task);
+        return task;
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+        if (delay <= 0) {
+            throw new IllegalArgumentException("delay must be positive");
+        }
+        ScheduledTask<Void> task = new ScheduledTask<>(Executors.callable(command, null),
+                triggerTime(initialDelay, unit), -unit.toNanos(delay));
+        arm(task);
+        return task;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (shutdown) {
+            throw new RejectedExecutionException("Executor has been shut down");
+        }
+        worker.execute(command);
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        stopTimer();
+        for (ScheduledTask<?> task : pending) {
+            task.cancel(false);
+        }
+        worker.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown = true;
+        stopTimer();
+        List<Runnable> notStarted = new ArrayList<>();
+        for (ScheduledTask<?> task : pending) {
+            if (task.cancel(false)) {
+                notStarted.add(task);
+            }
+        }
+        notStarted.addAll(worker.shutdownNow());
+        return notStarted;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return shutdown && worker.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        return awaitTimer(timeout, unit)
+                && worker.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    public int getPendingTaskCount() {
+        return pending.size();
+    }
+
+    private long triggerTime(long delay, TimeUnit unit) {
+        long nanos = Math.max(0, Math.min(unit.toNanos(delay), MAX_DELAY_NANOS));
+        return System.nanoTime() + nanos;
+    }
+
+    private void arm(ScheduledTask<?> task) {
+        if (shutdown) {
+            throw new RejectedExecutionException("Executor has been shut down");
+        }
+        pending.add(task);
+        Timeout timeout = arm(task.trigger, task.time - System.nanoTime());
+        task.timeout = timeout;
+        if (shutdown) {
+            task.cancel(false);
+        }
+        if (task.isCancelled()) {
+            // a cancel that ran before the new timeout was published could neither stop it nor see it pending
+            pending.remove(task);
+            timeout.cancel();
+        }
+    }
+
+    private void dispatch(ScheduledTask<?> task) {
+        pending.remove(task);
+        if (task.isCancelled()) {
+            return;
+        }
+        try {
+            worker.execute(task);
+        } catch (RejectedExecutionException e) {
+            task.cancel(false);
+        }
+    }
+
+    private class ScheduledTask<V> extends FutureTask<V> implements RunnableScheduledFuture<V> {
+
+        private final long period;
+        private final Runnable trigger = () -> dispatch(this);
+        private volatile long time;
+        private volatile Timeout timeout;
+
+        private ScheduledTask(Callable<V> callable, long time, long period) {
+            super(callable);
+            this.time = time;
+            this.period = period;
+        }
+
+        @Override
+        public boolean isPeriodic() {
+            return period != 0;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(time - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            if (other == this) {
+                return 0;
+            }
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
+
+        @Override
+        public void run() {
+            if (!isPeriodic()) {
+                super.run();
+            } else if (runAndReset()) {
+                time = period > 0 ? time + period : System.nanoTime() - period;
+                try {
+                    arm(this);
+                } catch (RejectedExecutionException e) {
+                    cancel(false);
+                }
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            Timeout current = timeout;
+            if (cancelled && current != null) {
+                current.cancel();
+            }
+            if (cancelled) {
+                pending.remove(this);
+            }
+            return cancelled;
+        }
+    }
+
+}
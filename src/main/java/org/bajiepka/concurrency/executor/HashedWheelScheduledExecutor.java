@@ -0,0 +1,225 @@
+package org.bajiepka.concurrency.executor;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hashed timing wheel: a ticker thread advances one bucket per tick and dispatches the expired timeouts
+ * of that bucket to the worker executor. Scheduling and cancelling are O(1) queue offers, timeouts longer
+ * than one wheel revolution keep a number of remaining rounds. Delays are rounded up to the tick duration.
+ */
+@Slf4j
+public class HashedWheelScheduledExecutor extends DispatchingScheduledExecutorService {
+
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+    private static final AtomicIntegerFieldUpdater<WheelTimeout> STATE =
+            AtomicIntegerFieldUpdater.newUpdater(WheelTimeout.class, "state");
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Queue<WheelTimeout> added = new ConcurrentLinkedQueue<>();
+    private final Queue<WheelTimeout> cancelled = new ConcurrentLinkedQueue<>();
+    private final CountDownLatch terminated = new CountDownLatch(1);
+    private final Thread ticker;
+    private final long startTime;
+    private volatile boolean stopped;
+
+    public HashedWheelScheduledExecutor(String name, long tickDuration, TimeUnit unit, int ticksPerWheel,
+                                        ExecutorService worker) {
+        super(worker);
+        if (tickDuration <= 0 || ticksPerWheel <= 0 || ticksPerWheel > 1 << 30) {
+            throw new IllegalArgumentException("tick duration and ticks per wheel must be positive");
+        }
+        int size = Integer.highestOneBit(ticksPerWheel);
+        if (size < ticksPerWheel) {
+            size <<= 1;
+        }
+        this.tickNanos = Math.max(unit.toNanos(tickDuration), TimeUnit.MICROSECONDS.toNanos(100));
+        this.wheel = new Bucket[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+
+        this.startTime = System.nanoTime();
+        this.ticker = new Thread(this::tick, name + "-ticker");
+        this.ticker.setDaemon(true);
+        this.ticker.start();
+    }
+
+    public long getTickNanos() {
+        return tickNanos;
+    }
+
+    @Override
+    protected Timeout arm(Runnable trigger, long delayNanos) {
+        long deadline = System.nanoTime() + Math.max(0, delayNanos) - startTime;
+        WheelTimeout timeout = new WheelTimeout(trigger, deadline);
+        added.offer(timeout);
+        return timeout;
+    }
+
+    @Override
+    protected void stopTimer() {
+        stopped = true;
+        LockSupport.unpark(ticker);
+    }
+
+    @Override
+    protected boolean awaitTimer(long timeout, TimeUnit unit) throws InterruptedException {
+        return terminated.await(timeout, unit);
+    }
+
+    private void tick() {
+        try {
+            long tick = 0;
+            while (!stopped) {
+                if (!waitForNextTick(tick)) {
+                    break;
+                }
+                removeCancelled();
+                transferAdded(tick);
+                wheel[(int) (tick & mask)].expire();
+                tick++;
+            }
+        } finally {
+            terminated.countDown();
+        }
+    }
+
+    private boolean waitForNextTick(long tick) {
+        long deadline = tickNanos * (tick + 1);
+        while (!stopped) {
+            long sleepNanos = deadline - (System.nanoTime() - startTime);
+            if (sleepNanos <= 0) {
+                return true;
+            }
+            LockSupport.parkNanos(this, sleepNanos);
+        }
+        return false;
+    }
+
+    private void transferAdded(long tick) {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            WheelTimeout timeout = added.poll();
+            if (timeout == null) {
+                return;
+            }
+            if (timeout.state != WheelTimeout.INIT) {
+                continue;
+            }
+            long expirationTick = Math.max((timeout.deadline + tickNanos - 1) / tickNanos - 1, tick);
+            timeout.remainingRounds = (expirationTick - tick) / wheel.length;
+            wheel[(int) (expirationTick & mask)].add(timeout);
+        }
+    }
+
+    private void removeCancelled() {
+        WheelTimeout timeout;
+        while ((timeout = cancelled.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private final class WheelTimeout implements Timeout {
+
+        private static final int INIT = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final Runnable trigger;
+        private final long deadline;
+        volatile int state = INIT;
+        private long remainingRounds;
+        private Bucket bucket;
+        private WheelTimeout next;
+        private WheelTimeout prev;
+
+        private WheelTimeout(Runnable trigger, long deadline) {
+            this.trigger = trigger;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (!STATE.compareAndSet(this, INIT, CANCELLED)) {
+                return false;
+            }
+            cancelled.offer(this);
+            return true;
+        }
+
+        private void expire() {
+            if (STATE.compareAndSet(this, INIT, EXPIRED)) {
+                try {
+                    trigger.run();
+                } catch (RuntimeException e) {
+                    log.warn("Timeout trigger failed", e);
+                }
+            }
+        }
+    }
+
+    private static final class Bucket {
+
+        private WheelTimeout head;
+        private WheelTimeout tail;
+
+        private void add(WheelTimeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        private void expire() {
+            WheelTimeout timeout = head;
+            while (timeout != null) {
+                WheelTimeout next = timeout.next;
+                if (timeout.state == WheelTimeout.CANCELLED) {
+                    remove(timeout);
+                } else if (timeout.remainingRounds <= 0) {
+                    remove(timeout);
+                    timeout.expire();
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        private void remove(WheelTimeout timeout) {
+            if (timeout.bucket != this) {
+                return;
+            }
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            } else {
+                tail = timeout.prev;
+            }
+            timeout.next = null;
+            timeout.prev = null;
+            timeout.bucket = null;
+        }
+    }
+
+}
@@ -0,0 +1,76 @@
+package org.bajiepka.concurrency.executor;
+
+import org.bajiepka.concurrency.metrics.TaskMetrics;
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Measures the time a task spends between submission and start, its run time and whether it failed.
+ * Samples go to the {@link TaskMetrics} recorder named {@code <executor>/<task class>}, lambdas are named
+ * after the class declaring them.
+ * <p>
+ * Decorate a task before it is wrapped into a {@link java.util.concurrent.Future}, otherwise its failures
+ * are swallowed by the future and never recorded.
+ */
+public class InstrumentingTaskDecorator implements TaskDecorator {
+
+    private final TaskMetrics metrics;
+    private final String executorName;
+    private final Map<Class<?>, TaskMetrics.Recorder> recorders = new ConcurrentHashMap<>();
+
+    public InstrumentingTaskDecorator(TaskMetrics metrics, String executorName) {
+        this.metrics = metrics;
+        this.executorName = executorName;
+    }
+
+    @Override
+    public Runnable decorate(Runnable task) {
+        TaskMetrics.Recorder recorder = recorderOf(task);
+        long submittedAt = System.nanoTime();
+        return () -> {
+            long startedAt = System.nanoTime();
+            boolean failed = true;
+            try {
+                task.run();
+                failed = false;
+            } finally {
+                recorder.record(startedAt - submittedAt, System.nanoTime() - startedAt, failed);
+            }
+        };
+    }
+
+    public <T> Callable<T> decorateCallable(Callable<T> task) {
+        TaskMetrics.Recorder recorder = recorderOf(task);
+        long submittedAt = System.nanoTime();
+        return () -> {
+            long startedAt = System.nanoTime();
+            boolean failed = true;
+            try {
+                T result = task.call();
+                failed = false;
+                return result;
+            } finally {
+                recorder.record(startedAt - submittedAt, System.nanoTime() - startedAt, failed);
+            }
+        };
+    }
+
+    private TaskMetrics.Recorder recorderOf(Object task) {
+        TaskMetrics.Recorder recorder = recorders.get(task.getClass());
+        return recorder != null ? recorder : recorders.computeIfAbsent(task.getClass(),
+                type -> metrics.recorder(nameOf(type)));
+    }
+
+    private String nameOf(Class<?> type) {
+        String name = type.getName();
+        int lambda = name.indexOf("$$Lambda");
+        if (lambda > 0) {
+            name = name.substring(0, lambda);
+        }
+        return executorName + "/" + name.substring(name.lastIndexOf('.') + 1);
+    }
+
+}
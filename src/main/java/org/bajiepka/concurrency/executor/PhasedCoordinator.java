@@ -0,0 +1,111 @@
+package org.bajiepka.concurrency.executor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs batches of workers on a pool phase by phase. Every phase is backed by its own {@link Phaser}:
+ * each submitted task is a registered party, so tasks may submit further tasks into the running phase,
+ * and the phase completes exactly when the last of them finishes. Results are collected without locking.
+ */
+public class PhasedCoordinator {
+
+    private final Executor executor;
+    private final AtomicInteger completedPhases = new AtomicInteger();
+
+    public PhasedCoordinator(Executor executor) {
+        this.executor = executor;
+    }
+
+    public <T> Phase<T> newPhase(String name) {
+        return new Phase<>(name);
+    }
+
+    public <T> List<T> runPhase(String name, Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit)
+            throws InterruptedException, TimeoutException {
+        Phase<T> phase = newPhase(name);
+        tasks.forEach(phase::submit);
+        return phase.await(timeout, unit);
+    }
+
+    public int getCompletedPhases() {
+        return completedPhases.get();
+    }
+
+    public class Phase<T> {
+
+        private final String name;
+        private final Phaser phaser = new Phaser(1);
+        private final Queue<T> results = new ConcurrentLinkedQueue<>();
+        private final Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+
+        private Phase(String name) {
+            this.name = name;
+        }
+
+        public void submit(Callable<? extends T> task) {
+            if (phaser.register() < 0) {
+                throw new IllegalStateException("Phase " + name + " is already completed");
+            }
+            try {
+                executor.execute(() -> {
+                    try {
+                        T result = task.call();
+                        if (result != null) {
+                            results.add(result);
+                        }
+                    } catch (Throwable e) {
+                        failures.add(e);
+                    } finally {
+                        phaser.arriveAndDeregister();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                phaser.arriveAndDeregister();
+                throw e;
+            }
+        }
+
+        public void submit(Runnable task) {
+            submit(Executors.callable(task, null));
+        }
+
+        /**
+         * Closes the phase for the caller and waits until every task, including the ones submitted
+         * meanwhile by other tasks, has finished.
+         *
+         * @return results of the tasks in completion order
+         * @throws TimeoutException when the phase did not complete in time, tasks keep running
+         */
+        public List<T> await(long timeout, TimeUnit unit) throws InterruptedException, TimeoutException {
+            int phase = phaser.arriveAndDeregister();
+            try {
+                phaser.awaitAdvanceInterruptibly(phase, timeout, unit);
+            } catch (TimeoutException e) {
+                TimeoutException timeoutException = new TimeoutException("Phase " + name + " timed out with "
+                        + phaser.getUnarrivedParties() + " unfinished tasks");
+                timeoutException.initCause(e);
+                throw timeoutException;
+            }
+            completedPhases.incrementAndGet();
+            return new ArrayList<>(results);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getUnfinishedTasks() {
+            return phaser.getUnarrivedParties();
+        }
+
+        public List<Throwable> getFailures() {
+            return new ArrayList<>(failures);
+        }
+    }
+
+}
@@ -1,9 +1,11 @@
 package org.bajiepka.concurrency.executor;
 
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
 public class RunnableInvoker implements Runnable {
     @Override
     public void run() {
-        System.out.println("Runnable invoker invoked!!!");
-        System.out.println(this.toString());
+        log.debug("Runnable invoker invoked: {}", this);
     }
 }
@@ -1,23 +1,53 @@
 package org.bajiepka.concurrency.executor;
 
+import lombok.extern.slf4j.Slf4j;
+import org.bajiepka.concurrency.semaphore.Bulkhead;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Semaphore;
 
+@Slf4j
 @Component
 public class SemaphoreInvoker implements Runnable {
 
     @Autowired
-    Semaphore semaphore;
+    Bulkhead bulkhead;
+
+    private long workMillis = 3_000;
+
+    public SemaphoreInvoker() {
+    }
+
+    public SemaphoreInvoker(Semaphore semaphore, long workMillis) {
+        this.bulkhead = new Bulkhead("semaphore-invoker", semaphore);
+        this.workMillis = workMillis;
+    }
 
     @Override
     public void run() {
         try {
-            Thread.sleep(3_000);
-            System.out.println("Сплю три секунды... ");
+            bulkhead.call(this::doWork);
         } catch (InterruptedException e) {
-            e.printStackTrace();
+            log.warn("Semaphore invoker interrupted", e);
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("Semaphore invoker failed", e);
         }
     }
+
+    /**
+     * Runs the work on the executor, the future fails with a RejectedExecutionException when the bulkhead is full.
+     */
+    public CompletableFuture<Long> runAsync(Executor executor) {
+        return bulkhead.callAsync(this::doWork, executor);
+    }
+
+    private Long doWork() throws InterruptedException {
+        Thread.sleep(workMillis);
+        log.debug("Проспал {} мс", workMillis);
+        return workMillis;
+    }
 }
@@ -0,0 +1,72 @@
+package org.bajiepka.concurrency.executor;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A single timer thread only tracks delays, every due task runs on its own virtual thread.
+ * On a JDK without virtual threads the tasks run on a cached pool of platform threads instead.
+ */
+@Slf4j
+public class VirtualThreadScheduledExecutor extends DispatchingScheduledExecutorService {
+
+    private final ScheduledThreadPoolExecutor timer;
+    private final boolean virtual;
+
+    public VirtualThreadScheduledExecutor(String name) {
+        this(name, virtualThreadPerTaskExecutor());
+    }
+
+    private VirtualThreadScheduledExecutor(String name, ExecutorService worker) {
+        super(worker != null ? worker : Executors.newCachedThreadPool(daemonThreadFactory(name + "-worker-")));
+        this.virtual = worker != null;
+        this.timer = new ScheduledThreadPoolExecutor(1, daemonThreadFactory(name + "-timer-"));
+        this.timer.setRemoveOnCancelPolicy(true);
+        this.timer.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+
+        if (!virtual) {
+            log.warn("Virtual threads are not available on Java {}, {} falls back to platform threads",
+                    System.getProperty("java.version"), name);
+        }
+    }
+
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    @Override
+    protected Timeout arm(Runnable trigger, long delayNanos) {
+        ScheduledFuture<?> future = timer.schedule(trigger, delayNanos, TimeUnit.NANOSECONDS);
+        return () -> future.cancel(false);
+    }
+
+    @Override
+    protected void stopTimer() {
+        timer.shutdownNow();
+    }
+
+    @Override
+    protected boolean awaitTimer(long timeout, TimeUnit unit) throws InterruptedException {
+        return timer.awaitTermination(timeout, unit);
+    }
+
+    private static ExecutorService virtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
+    private static ThreadFactory daemonThreadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+}
@@ -0,0 +1,258 @@
+package org.bajiepka.concurrency.executor;
+
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous counterpart of {@link Invoker}: every worker owns a deque, idle workers steal from the others.
+ * Tasks submitted from a worker thread stay on its own deque, a batch submitted through {@link #executeAll}
+ * lands on one deque with a single wake-up. When all deques are full the task runs on the caller thread.
+ */
+public class WorkStealingInvoker implements Executor {
+
+    private static final AtomicInteger POOL_NUMBER = new AtomicInteger();
+
+    private final Worker[] workers;
+    private final int capacity;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger nextWorker = new AtomicInteger();
+    private final AtomicInteger idleWorkers = new AtomicInteger();
+    private final LongAdder steals = new LongAdder();
+    private final LongAdder callerRuns = new LongAdder();
+    private volatile TaskDecorator taskDecorator = task -> task;
+    private volatile boolean shutdown;
+
+    public WorkStealingInvoker() {
+        this(Runtime.getRuntime().availableProcessors(), 1_024);
+    }
+
+    public WorkStealingInvoker(int parallelism, int queueCapacityPerWorker) {
+        if (parallelism <= 0 || queueCapacityPerWorker <= 0) {
+            throw new IllegalArgumentException("parallelism and queue capacity must be positive");
+        }
+        this.capacity = parallelism * queueCapacityPerWorker;
+        this.workers = new Worker[parallelism];
+
+        String prefix = "work-stealing-invoker-" + POOL_NUMBER.incrementAndGet() + "-";
+        for (int i = 0; i < parallelism; i++) {
+            workers[i] = new Worker(i, prefix + i);
+        }
+        for (Worker worker : workers) {
+            worker.thread.start();
+        }
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (command == null) {
+            throw new NullPointerException();
+        }
+        checkNotShutdown();
+        command = taskDecorator.decorate(command);
+        if (reserve(1) == 1) {
+            Worker target = target();
+            target.deque.offerLast(command);
+            signal(target);
+        } else {
+            callerRuns.increment();
+            command.run();
+        }
+    }
+
+    public void executeAll(Collection<? extends Runnable> commands) {
+        checkNotShutdown();
+        TaskDecorator decorator = taskDecorator;
+        Iterator<? extends Runnable> iterator = commands.iterator();
+        int reserved = reserve(commands.size());
+        if (reserved > 0) {
+            Worker target = target();
+            for (int i = 0; i < reserved && iterator.hasNext(); i++) {
+                target.deque.offerLast(decorator.decorate(iterator.next()));
+            }
+            signal(target);
+        }
+        while (iterator.hasNext()) {
+            callerRuns.increment();
+            decorator.decorate(iterator.next()).run();
+        }
+    }
+
+    /**
+     * Wraps every task submitted from now on, e.g. with an {@link InstrumentingTaskDecorator}.
+     */
+    public void setTaskDecorator(TaskDecorator taskDecorator) {
+        this.taskDecorator = taskDecorator;
+    }
+
+    public void shutdown() {
+        shutdown = true;
+        for (Worker worker : workers) {
+            LockSupport.unpark(worker.thread);
+        }
+    }
+
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (Worker worker : workers) {
+            long millis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (millis <= 0) {
+                return false;
+            }
+            worker.thread.join(millis);
+            if (worker.thread.isAlive()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    public int getParallelism() {
+        return workers.length;
+    }
+
+    public int getQueuedTaskCount() {
+        return queued.get();
+    }
+
+    public long getStealCount() {
+        return steals.sum();
+    }
+
+    public long getCallerRunsCount() {
+        return callerRuns.sum();
+    }
+
+    private void checkNotShutdown() {
+        if (shutdown) {
+            throw new RejectedExecutionException("Invoker has been shut down");
+        }
+    }
+
+    private int reserve(int requested) {
+        while (true) {
+            int current = queued.get();
+            int granted = Math.min(requested, capacity - current);
+            if (granted <= 0) {
+                return 0;
+            }
+            if (queued.compareAndSet(current, current + granted)) {
+                return granted;
+            }
+        }
+    }
+
+    private Worker target() {
+        Thread current = Thread.currentThread();
+        if (current instanceof WorkerThread && ((WorkerThread) current).owner() == this) {
+            return ((WorkerThread) current).worker;
+        }
+        return workers[Math.floorMod(nextWorker.getAndIncrement(), workers.length)];
+    }
+
+    private void signal(Worker target) {
+        LockSupport.unpark(target.thread);
+        if (idleWorkers.get() > 0) {
+            for (Worker worker : workers) {
+                if (worker != target && worker.idle) {
+                    LockSupport.unpark(worker.thread);
+                    return;
+                }
+            }
+        }
+    }
+
+    private final class Worker implements Runnable {
+
+        private final int index;
+        private final ConcurrentLinkedDeque<Runnable> deque = new ConcurrentLinkedDeque<>();
+        private final WorkerThread thread;
+        private volatile boolean idle;
+
+        private Worker(int index, String name) {
+            this.index = index;
+            this.thread = new WorkerThread(this, name);
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                Runnable task = deque.pollFirst();
+                if (task == null) {
+                    task = steal();
+                }
+                if (task != null) {
+                    queued.decrementAndGet();
+                    runTask(task);
+                } else if (shutdown) {
+                    return;
+                } else {
+                    park();
+                }
+            }
+        }
+
+        private Runnable steal() {
+            for (int i = 1; i < workers.length; i++) {
+                Runnable task = workers[(index + i) % workers.length].deque.pollLast();
+                if (task != null) {
+                    steals.increment();
+                    return task;
+                }
+            }
+            return null;
+        }
+
+        private void park() {
+            idle = true;
+            idleWorkers.incrementAndGet();
+            try {
+                if (queued.get() == 0 && !shutdown) {
+                    LockSupport.park(this);
+                }
+            } finally {
+                idleWorkers.decrementAndGet();
+                idle = false;
+            }
+        }
+
+        private void runTask(Runnable task) {
+            try {
+                task.run();
+            } catch (Throwable e) {
+                Thread.UncaughtExceptionHandler handler = thread.getUncaughtExceptionHandler();
+                if (handler != null) {
+                    handler.uncaughtException(thread, e);
+                }
+            }
+        }
+    }
+
+    private final class WorkerThread extends Thread {
+
+        private final Worker worker;
+
+        private WorkerThread(Worker worker, String name) {
+            super(worker, name);
+            this.worker = worker;
+            setDaemon(true);
+        }
+
+        private WorkStealingInvoker owner() {
+            return WorkStealingInvoker.this;
+        }
+    }
+
+}
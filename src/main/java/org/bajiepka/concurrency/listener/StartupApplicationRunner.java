@@ -1,19 +1,23 @@
 package org.bajiepka.concurrency.listener;
 
 import lombok.extern.slf4j.Slf4j;
+import org.bajiepka.concurrency.collector.ResultCollector;
+import org.bajiepka.concurrency.configuration.ExecutorRegistry;
 import org.bajiepka.concurrency.executor.CountdownLatchWorker;
-import org.bajiepka.concurrency.executor.Invoker;
+import org.bajiepka.concurrency.executor.PhasedCoordinator;
 import org.bajiepka.concurrency.executor.RunnableInvoker;
 import org.bajiepka.concurrency.executor.SemaphoreInvoker;
+import org.bajiepka.concurrency.executor.WorkStealingInvoker;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
-import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import javax.annotation.PostConstruct;
+
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.*;
 import java.util.stream.Collectors;
@@ -23,8 +27,8 @@ import java.util.stream.Stream;
 @Component
 public class StartupApplicationRunner implements ApplicationRunner {
 
-    @Autowired
-    private AnnotationConfigApplicationContext ctx;
+    private static final long CALCULATION_TIMEOUT_SECONDS = 30;
+    private static final long WORKERS_TIMEOUT_SECONDS = 10;
 
     @Autowired
     @Qualifier("single_scheduled_executor")
@@ -34,71 +38,102 @@ public class StartupApplicationRunner implements ApplicationRunner {
     @Qualifier("multi_scheduled_executor")
     private ScheduledExecutorService multiExecutor;
 
+    @Autowired
+    private ExecutorRegistry executors;
+
+    @Autowired
+    private SemaphoreInvoker semaphoreInvoker;
+
+    @Autowired
+    @Qualifier("work_stealing_invoker")
+    private WorkStealingInvoker invoker;
+
+    @Value("${concurrency.startup.demo:false}")
+    private boolean demo;
+
+    private PhasedCoordinator coordinator;
+
+    @PostConstruct
+    public void init() {
+        coordinator = new PhasedCoordinator(executors.get("latch-workers"));
+    }
+
     @Override
     public void run(ApplicationArguments args) throws Exception {
         log.info("Приложение запущено!");
 
-        if (false) {
+        if (demo) {
 
-            Executor executor = new Invoker();
-            executor.execute(() -> {
+            invoker.execute(() -> {
                 System.out.println("Invoker execurot implementation started!!!");
             });
 
             System.out.println("-------------------------------------------------");
 
 
-            ExecutorService service2 = Executors.newFixedThreadPool(30);
-            service2.submit(new SemaphoreInvoker());
+            semaphoreInvoker.runAsync(executors.get("semaphore-invokers"));
 
             System.out.println("-------------------------------------------------");
 
-            ExecutorService service = Executors.newFixedThreadPool(10);
-            ExecutorService service1 = Executors.newSingleThreadExecutor();
-
-            service.submit(new RunnableInvoker());
-            service.awaitTermination(3L, TimeUnit.SECONDS);
-
-            Future<Integer> expected = calculation(10, 12);
-            Future<Integer> expected2 = calculation(11, 21);
-
-            while (!(expected.isDone() && expected2.isDone())) {
-                System.out.println(
-                        String.format(
-                                "expected is %s and expected2 is %s",
-                                expected.isDone() ? "done" : "not done",
-                                expected2.isDone() ? "done" : "not done"
-                        )
-                );
-                Thread.sleep(3_000);
-            }
+            executors.get("runnable-invokers").submit(new RunnableInvoker()).get(3L, TimeUnit.SECONDS);
 
-            System.out.println(expected.get());
-            System.out.println(expected2.get());
+            calculations(CALCULATION_TIMEOUT_SECONDS, TimeUnit.SECONDS, new int[]{10, 12}, new int[]{11, 21})
+                    .whenComplete((results, e) -> {
+                        if (e != null) {
+                            log.error("Вычисление не завершено", e);
+                        } else {
+                            results.forEach(System.out::println);
+                            log.info("Сумма вычислений: {}", results.stream().mapToInt(Integer::intValue).sum());
+                        }
+                    });
 
             System.out.println("-------------------------------------------------");
 
-            List<String> outputScrapper = Collections.synchronizedList(new ArrayList<>());
+            ResultCollector<String> outputScrapper = new ResultCollector<>();
             CountDownLatch countDownLatch = new CountDownLatch(3);
-            List<Thread> workers = Stream
-                    .generate(() -> new Thread(new CountdownLatchWorker(outputScrapper, countDownLatch)))
+            PhasedCoordinator.Phase<Void> workers = coordinator.newPhase("countdown-latch-workers");
+            Stream.generate(() -> new CountdownLatchWorker(outputScrapper, countDownLatch))
                     .limit(10)
-                    .collect(Collectors.toList());
+                    .forEach(workers::submit);
 
-            workers.forEach(Thread::start);
             countDownLatch.await();
-            outputScrapper.add("Latch released");
+            outputScrapper.publish("Latch released");
+            workers.await(WORKERS_TIMEOUT_SECONDS, TimeUnit.SECONDS);
 
-            outputScrapper.forEach(scrap -> System.out.println(scrap));
+            outputScrapper.drain(scrap -> System.out.println(scrap));
         }
     }
 
-    public Future<Integer> calculation(Integer first, Integer second) {
-        return multiExecutor.submit(() -> {
-            System.out.println("sleeping for 10s... ");
-            Thread.sleep(10_000);
-            return first * second;
-        });
+    public CompletableFuture<Integer> calculation(Integer first, Integer second) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                System.out.println("sleeping for 10s... ");
+                Thread.sleep(10_000);
+                return first * second;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            }
+        }, multiExecutor);
+    }
+
+    /**
+     * @param operands pairs of factors, one calculation each
+     * @return the products in the order of the pairs, failing with a {@link TimeoutException} when not all of
+     * them are ready within the timeout
+     */
+    public CompletableFuture<List<Integer>> calculations(long timeout, TimeUnit unit, int[]... operands) {
+        for (int[] pair : operands) {
+            if (pair == null || pair.length != 2) {
+                throw new IllegalArgumentException("Expected pairs of two operands, got " + Arrays.toString(pair));
+            }
+        }
+        List<CompletableFuture<Integer>> futures = Arrays.stream(operands)
+                .map(pair -> calculation(pair[0], pair[1]))
+                .collect(Collectors.toList());
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .thenApply(done -> futures.stream().map(CompletableFuture::join).collect(Collectors.toList()))
+                .orTimeout(timeout, unit);
     }
 
 }
@@ -0,0 +1,92 @@
+package org.bajiepka.concurrency.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Queue wait time, run time and failures of executed tasks, grouped by task name.
+ */
+public class TaskMetrics {
+
+    private final Map<String, Recorder> recorders = new ConcurrentHashMap<>();
+
+    public Recorder recorder(String name) {
+        Recorder recorder = recorders.get(name);
+        return recorder != null ? recorder : recorders.computeIfAbsent(name, key -> new Recorder());
+    }
+
+    public Map<String, Snapshot> snapshot() {
+        Map<String, Snapshot> snapshot = new TreeMap<>();
+        recorders.forEach((name, recorder) -> snapshot.put(name, recorder.snapshot()));
+        return snapshot;
+    }
+
+    public void reset() {
+        recorders.values().forEach(Recorder::reset);
+    }
+
+    public static class Recorder {
+
+        private final Histogram queueWaitNanos = new Histogram();
+        private final Histogram runTimeNanos = new Histogram();
+        private final LongAdder failures = new LongAdder();
+
+        public void record(long queueWaitNanos, long runTimeNanos, boolean failed) {
+            this.queueWaitNanos.record(queueWaitNanos);
+            this.runTimeNanos.record(runTimeNanos);
+            if (failed) {
+                failures.increment();
+            }
+        }
+
+        public Histogram getQueueWaitNanos() {
+            return queueWaitNanos;
+        }
+
+        public Histogram getRunTimeNanos() {
+            return runTimeNanos;
+        }
+
+        public long getFailures() {
+            return failures.sum();
+        }
+
+        private Snapshot snapshot() {
+            return new Snapshot(queueWaitNanos.snapshot(), runTimeNanos.snapshot(), failures.sum());
+        }
+
+        private void reset() {
+            queueWaitNanos.reset();
+            runTimeNanos.reset();
+            failures.reset();
+        }
+    }
+
+    public static class Snapshot {
+
+        private final Histogram.Snapshot queueWaitNanos;
+        private final Histogram.Snapshot runTimeNanos;
+        private final long failures;
+
+        public Snapshot(Histogram.Snapshot queueWaitNanos, Histogram.Snapshot runTimeNanos, long failures) {
+            this.queueWaitNanos = queueWaitNanos;
+            this.runTimeNanos = runTimeNanos;
+            this.failures = failures;
+        }
+
+        public Histogram.Snapshot getQueueWaitNanos() {
+            return queueWaitNanos;
+        }
+
+        public Histogram.Snapshot getRunTimeNanos() {
+            return runTimeNanos;
+        }
+
+        public long getFailures() {
+            return failures;
+        }
+    }
+
+}
@@ -0,0 +1,221 @@
+package org.bajiepka.concurrency.semaphore;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Semaphore whose number of permits follows the observed hold time (AIMD).
+ * <p>
+ * The time between acquire and release is a latency sample. A release is paired with the oldest outstanding
+ * acquire, so a permit may be released on any thread; when holds of different length overlap, the sample is
+ * the age of the oldest held permit, an upper bound of the real hold time. A sample slower than
+ * {@code tolerance} times the minimal observed latency shrinks the limit by {@code backoffRatio}, a fast
+ * sample while at least half of the limit is in use grows it by one. The minimal latency is re-probed
+ * every {@code probeInterval} samples so that a permanent shift in latency is not punished forever.
+ * <p>
+ * The variants taking a permit count are accounted as that many single permits: every acquired permit is
+ * timestamped and every released one is a sample. {@link #drainPermits()} acquires the available permits the
+ * same way, so they are in flight until released.
+ */
+public class AdaptiveSemaphore extends Semaphore {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double tolerance;
+    private final int probeInterval;
+
+    private final AtomicInteger limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejections = new LongAdder();
+    private final AtomicLong minLatencyNanos = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong samples = new AtomicLong();
+    private final Queue<Long> acquireTimes = new ConcurrentLinkedQueue<>();
+
+    public AdaptiveSemaphore(int initialLimit, int minLimit, int maxLimit) {
+        this(initialLimit, minLimit, maxLimit, 0.9, 2.0, 1_000);
+    }
+
+    public AdaptiveSemaphore(int initialLimit, int minLimit, int maxLimit,
+                             double backoffRatio, double tolerance, int probeInterval) {
+        super(initialLimit);
+        if (minLimit <= 0 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Expected 0 < minLimit <= initialLimit <= maxLimit");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1 || tolerance < 1 || probeInterval <= 0) {
+            throw new IllegalArgumentException("Expected 0 < backoffRatio < 1, tolerance >= 1, probeInterval > 0");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.tolerance = tolerance;
+        this.probeInterval = probeInterval;
+        this.limit = new AtomicInteger(initialLimit);
+    }
+
+    @Override
+    public void acquire() throws InterruptedException {
+        super.acquire();
+        onAcquired(1);
+    }
+
+    @Override
+    public void acquireUninterruptibly() {
+        super.acquireUninterruptibly();
+        onAcquired(1);
+    }
+
+    @Override
+    public boolean tryAcquire() {
+        return onTryAcquire(super.tryAcquire(), 1);
+    }
+
+    @Override
+    public boolean tryAcquire(long timeout, TimeUnit unit) throws InterruptedException {
+        return onTryAcquire(super.tryAcquire(timeout, unit), 1);
+    }
+
+    /**
+     * @throws IllegalStateException when no permit is held, a surplus permit would raise the limit unnoticed
+     */
+    @Override
+    public void release() {
+        release(1);
+    }
+
+    @Override
+    public void acquire(int permits) throws InterruptedException {
+        super.acquire(permits);
+        onAcquired(permits);
+    }
+
+    @Override
+    public void acquireUninterruptibly(int permits) {
+        super.acquireUninterruptibly(permits);
+        onAcquired(permits);
+    }
+
+    @Override
+    public boolean tryAcquire(int permits) {
+        return onTryAcquire(super.tryAcquire(permits), permits);
+    }
+
+    @Override
+    public boolean tryAcquire(int permits, long timeout, TimeUnit unit) throws InterruptedException {
+        return onTryAcquire(super.tryAcquire(permits, timeout, unit), permits);
+    }
+
+    /**
+     * @throws IllegalStateException when fewer permits are held, surplus permits would raise the limit unnoticed
+     */
+    @Override
+    public void release(int permits) {
+        if (permits < 0) {
+            throw new IllegalArgumentException();
+        }
+        if (inFlight.getAndUpdate(held -> held >= permits ? held - permits : held) < permits) {
+            throw new IllegalStateException("Release without a matching acquire");
+        }
+        for (int i = 0; i < permits; i++) {
+            Long acquiredAt = acquireTimes.poll();
+            if (acquiredAt != null) {
+                onSample(System.nanoTime() - acquiredAt);
+            }
+        }
+        super.release(permits);
+    }
+
+    /**
+     * Acquires every available permit at once. The drained permits count as in flight, so they have to be released
+     * to give the permits back. When a shrinking limit left fewer than zero permits available, nothing is drained.
+     */
+    @Override
+    public int drainPermits() {
+        int available;
+        while ((available = availablePermits()) > 0) {
+            if (super.tryAcquire(available)) {
+                onAcquired(available);
+                return available;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Feeds a latency measured outside of acquire/release, e.g. the duration of a call guarded elsewhere.
+     */
+    public void onSample(long latencyNanos) {
+        long minLatency = samples.incrementAndGet() % probeInterval == 0
+                ? resetMinLatency(latencyNanos)
+                : minLatencyNanos.accumulateAndGet(latencyNanos, Math::min);
+
+        int current = limit.get();
+        int next;
+        if (latencyNanos > minLatency * tolerance) {
+            next = Math.max(minLimit, (int) (current * backoffRatio));
+        } else if (inFlight.get() * 2 >= current) {
+            next = Math.min(maxLimit, current + 1);
+        } else {
+            return;
+        }
+
+        if (next != current && limit.compareAndSet(current, next)) {
+            if (next > current) {
+                super.release(next - current);
+            } else {
+                reducePermits(current - next);
+            }
+        }
+    }
+
+    public int getLimit() {
+        return limit.get();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejections() {
+        return rejections.sum();
+    }
+
+    public long getMinLatencyNanos() {
+        long minLatency = minLatencyNanos.get();
+        return minLatency == Long.MAX_VALUE ? 0 : minLatency;
+    }
+
+    @Override
+    public String toString() {
+        return super.toString() + "[limit = " + getLimit() + ", inFlight = " + getInFlight()
+                + ", rejections = " + getRejections() + "]";
+    }
+
+    private boolean onTryAcquire(boolean acquired, int permits) {
+        if (acquired) {
+            onAcquired(permits);
+        } else {
+            rejections.increment();
+        }
+        return acquired;
+    }
+
+    private void onAcquired(int permits) {
+        long now = System.nanoTime();
+        for (int i = 0; i < permits; i++) {
+            acquireTimes.offer(now);
+        }
+        inFlight.addAndGet(permits);
+    }
+
+    private long resetMinLatency(long latencyNanos) {
+        minLatencyNanos.set(latencyNanos);
+        return latencyNanos;
+    }
+
+}
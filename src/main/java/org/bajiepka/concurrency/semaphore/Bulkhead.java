@@ -0,0 +1,210 @@
+package org.bajiepka.concurrency.semaphore;
+
+import org.bajiepka.concurrency.metrics.Histogram;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Limits the number of concurrent calls to a downstream with a {@link Semaphore}, so a slow dependency can only
+ * occupy as many threads as there are permits. A permit is held exactly for the duration of the call, so the
+ * latency samples of an {@link AdaptiveSemaphore} measure the downstream and not the queueing in front of it.
+ */
+public class Bulkhead {
+
+    private final String name;
+    private final Semaphore semaphore;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final Histogram acquireWaitNanos = new Histogram();
+
+    public Bulkhead(String name, Semaphore semaphore) {
+        this.name = name;
+        this.semaphore = semaphore;
+    }
+
+    /**
+     * Waits for a permit as long as necessary.
+     */
+    public <T> T call(Callable<T> task) throws Exception {
+        long start = System.nanoTime();
+        semaphore.acquire();
+        acquireWaitNanos.record(System.nanoTime() - start);
+        return callAcquired(task);
+    }
+
+    /**
+     * @throws RejectedExecutionException when no permit became available within the timeout
+     */
+    public <T> T call(Callable<T> task, long timeout, TimeUnit unit) throws Exception {
+        long start = System.nanoTime();
+        if (!semaphore.tryAcquire(timeout, unit)) {
+            rejected.increment();
+            throw new RejectedExecutionException("Bulkhead " + name + " is full");
+        }
+        acquireWaitNanos.record(System.nanoTime() - start);
+        return callAcquired(task);
+    }
+
+    /**
+     * Never waits: without a free permit the fallback result is returned instead.
+     */
+    public <T> T tryCall(Callable<T> task, Supplier<? extends T> fallback) throws Exception {
+        if (!semaphore.tryAcquire()) {
+            rejected.increment();
+            return fallback.get();
+        }
+        acquireWaitNanos.record(0);
+        return callAcquired(task);
+    }
+
+    /**
+     * Runs the task on the executor if a permit is free once it starts there, otherwise the future fails
+     * with {@link RejectedExecutionException}. Pool threads never block on the bulkhead.
+     */
+    public <T> CompletableFuture<T> callAsync(Callable<T> task, Executor executor) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                if (result.isDone()) {
+                    return;
+                }
+                try {
+                    result.complete(tryCall(task, () -> {
+                        throw new RejectedExecutionException("Bulkhead " + name + " is full");
+                    }));
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getAvailablePermits() {
+        return semaphore.availablePermits();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public int getPeakInFlight() {
+        return peakInFlight.get();
+    }
+
+    /**
+     * @return share of the permits in use, 1 means every further call waits or is rejected
+     */
+    public double getSaturation() {
+        int busy = inFlight.get();
+        int capacity = busy + Math.max(0, semaphore.availablePermits());
+        return capacity == 0 ? 1 : (double) busy / capacity;
+    }
+
+    public long getAccepted() {
+        return accepted.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    public Histogram getAcquireWaitNanos() {
+        return acquireWaitNanos;
+    }
+
+    public Stats stats() {
+        return new Stats(getAvailablePermits(), getInFlight(), getPeakInFlight(), getSaturation(), getAccepted(),
+                getRejected(), getFailed(), acquireWaitNanos.snapshot());
+    }
+
+    private <T> T callAcquired(Callable<T> task) throws Exception {
+        accepted.increment();
+        int current = inFlight.incrementAndGet();
+        if (current > peakInFlight.get()) {
+            peakInFlight.accumulateAndGet(current, Math::max);
+        }
+        try {
+            return task.call();
+        } catch (Exception e) {
+            failed.increment();
+            throw e;
+        } finally {
+            inFlight.decrementAndGet();
+            semaphore.release();
+        }
+    }
+
+    public static class Stats {
+
+        private final int availablePermits;
+        private final int inFlight;
+        private final int peakInFlight;
+        private final double saturation;
+        private final long accepted;
+        private final long rejected;
+        private final long failed;
+        private final Histogram.Snapshot acquireWaitNanos;
+
+        public Stats(int availablePermits, int inFlight, int peakInFlight, double saturation, long accepted,
+                     long rejected, long failed, Histogram.Snapshot acquireWaitNanos) {
+            this.availablePermits = availablePermits;
+            this.inFlight = inFlight;
+            this.peakInFlight = peakInFlight;
+            this.saturation = saturation;
+            this.accepted = accepted;
+            this.rejected = rejected;
+            this.failed = failed;
+            this.acquireWaitNanos = acquireWaitNanos;
+        }
+
+        public int getAvailablePermits() {
+            return availablePermits;
+        }
+
+        public int getInFlight() {
+            return inFlight;
+        }
+
+        public int getPeakInFlight() {
+            return peakInFlight;
+        }
+
+        public double getSaturation() {
+            return saturation;
+        }
+
+        public long getAccepted() {
+            return accepted;
+        }
+
+        public long getRejected() {
+            return rejected;
+        }
+
+        public long getFailed() {
+            return failed;
+        }
+
+        public Histogram.Snapshot getAcquireWaitNanos() {
+            return acquireWaitNanos;
+        }
+    }
+}
@@ -1,26 +1,133 @@
 package org.bajiepka.concurrency.semaphore;
 
-import java.util.concurrent.Semaphore;
+import org.bajiepka.concurrency.metrics.Histogram;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 public class LoginQueueUsingSemaphore {
 
-    private Semaphore semaphore;
+    private static final int DEFAULT_MAX_WAITERS = 1_024;
+
+    private StripedPermitPool slots;
+    private final int maxWaiters;
+    private final ConcurrentLinkedQueue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private final Histogram waitTimeNanos = new Histogram();
+    private final Histogram queueDepth = new Histogram();
 
     public LoginQueueUsingSemaphore(int permits) {
-        this.semaphore = new Semaphore(permits);
+        this(permits, DEFAULT_MAX_WAITERS);
+    }
+
+    public LoginQueueUsingSemaphore(int permits, int maxWaiters) {
+        this.slots = new StripedPermitPool(permits);
+        this.maxWaiters = maxWaiters;
     }
 
     public void logout() {
-        semaphore.release();
+        slots.release();
+        drain();
     }
 
     public boolean tryLogin() {
-        System.out.println("Trying to acquire a permit..." + Thread.currentThread().getId());
-        return semaphore.tryAcquire();
+        return waiting.get() == 0 && slots.tryAcquire();
+    }
+
+    /**
+     * Waits in the FIFO queue for at most {@code timeout} for a slot to be freed.
+     */
+    public boolean tryLogin(long timeout, TimeUnit unit) throws InterruptedException {
+        CompletableFuture<Void> login = loginAsync();
+        try {
+            login.get(timeout, unit);
+            return true;
+        } catch (TimeoutException | ExecutionException | CancellationException e) {
+            return !login.cancel(false) && !login.isCompletedExceptionally();
+        } catch (InterruptedException e) {
+            if (!login.cancel(false) && !login.isCompletedExceptionally()) {
+                logout();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Completes once a slot is taken. The future fails with {@link RejectedExecutionException} when the wait
+     * queue is full, cancelling it gives up the place in the queue.
+     */
+    public CompletableFuture<Void> loginAsync() {
+        if (tryLogin()) {
+            waitTimeNanos.record(0);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        int depth = waiting.incrementAndGet();
+        if (depth > maxWaiters) {
+            waiting.decrementAndGet();
+            rejected.increment();
+            CompletableFuture<Void> failed = new CompletableFuture<>();
+            failed.completeExceptionally(new RejectedExecutionException("Login queue is full"));
+            return failed;
+        }
+        queueDepth.record(depth);
+
+        Waiter waiter = new Waiter();
+        waiters.offer(waiter);
+        drain();
+        return waiter;
     }
 
     public int availableSlots() {
-        return semaphore.availablePermits();
+        return slots.available();
+    }
+
+    public int getQueueLength() {
+        return waiting.get();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public Histogram getWaitTimeNanos() {
+        return waitTimeNanos;
+    }
+
+    public Histogram getQueueDepth() {
+        return queueDepth;
+    }
+
+    private void drain() {
+        while (!waiters.isEmpty() && slots.tryAcquire()) {
+            Waiter waiter = waiters.poll();
+            if (waiter == null) {
+                slots.release();
+                return;
+            }
+            waiting.decrementAndGet();
+            if (waiter.complete(null)) {
+                waitTimeNanos.record(System.nanoTime() - waiter.enqueuedAt);
+            } else {
+                slots.release();
+            }
+        }
+    }
+
+    private final class Waiter extends CompletableFuture<Void> {
+
+        private final long enqueuedAt = System.nanoTime();
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled && waiters.remove(this)) {
+                waiting.decrementAndGet();
+            }
+            return cancelled;
+        }
     }
 
 }
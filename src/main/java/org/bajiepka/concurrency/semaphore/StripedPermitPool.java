@@ -0,0 +1,73 @@
+package org.bajiepka.concurrency.semaphore;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Counting permit pool split into cache-line padded stripes. A thread takes and returns permits through
+ * its home stripe and only scans the other stripes when its own one is empty, which is how permits get
+ * rebalanced between stripes. {@link #available()} is exact only while the pool is quiescent.
+ */
+public class StripedPermitPool {
+
+    private static final int PADDING = 16;
+
+    private final AtomicIntegerArray cells;
+    private final int mask;
+
+    public StripedPermitPool(int permits) {
+        this(permits, Runtime.getRuntime().availableProcessors());
+    }
+
+    public StripedPermitPool(int permits, int stripes) {
+        if (permits < 0 || stripes <= 0) {
+            throw new IllegalArgumentException("permits must not be negative and stripes must be positive");
+        }
+        int size = Integer.highestOneBit(stripes);
+        if (size < stripes) {
+            size <<= 1;
+        }
+        this.mask = size - 1;
+        this.cells = new AtomicIntegerArray(size * PADDING);
+
+        for (int stripe = 0; stripe < size; stripe++) {
+            cells.set(stripe * PADDING, permits / size + (stripe < permits % size ? 1 : 0));
+        }
+    }
+
+    public boolean tryAcquire() {
+        int home = home();
+        for (int i = 0; i <= mask; i++) {
+            int index = ((home + i) & mask) * PADDING;
+            int current;
+            while ((current = cells.get(index)) > 0) {
+                if (cells.compareAndSet(index, current, current - 1)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    public void release() {
+        cells.getAndIncrement(home() * PADDING);
+    }
+
+    public int available() {
+        int sum = 0;
+        for (int stripe = 0; stripe <= mask; stripe++) {
+            sum += cells.get(stripe * PADDING);
+        }
+        return sum;
+    }
+
+    public int stripes() {
+        return mask + 1;
+    }
+
+    private int home() {
+        long id = Thread.currentThread().getId();
+        int hash = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+}
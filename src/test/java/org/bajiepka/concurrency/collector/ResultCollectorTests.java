@@ -0,0 +1,84 @@
+package org.bajiepka.concurrency.collector;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+public class ResultCollectorTests {
+
+    @Test
+    public void test_01_single_producer_keeps_order_across_chunks() {
+
+        ResultCollector<Integer> collector = new ResultCollector<>();
+        IntStream.range(0, 1_000).forEach(collector::publish);
+
+        List<Integer> results = collector.drainToList();
+        assertEquals(1_000, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i, (int) results.get(i));
+        }
+        assertTrue(collector.drainToList().isEmpty());
+    }
+
+    @Test
+    public void test_02_concurrent_producers_lose_nothing() throws InterruptedException {
+
+        ResultCollector<Integer> collector = new ResultCollector<>();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        long[] drained = new long[1];
+
+        IntStream.range(0, 8).forEach(producer -> pool.execute(() -> {
+            for (int i = 0; i < 10_000; i++) {
+                collector.publish(1);
+            }
+        }));
+        pool.shutdown();
+        while (!pool.isTerminated()) {
+            collector.drain(value -> drained[0] += value);
+            pool.awaitTermination(1, TimeUnit.MILLISECONDS);
+        }
+        collector.drain(value -> drained[0] += value);
+
+        assertEquals(80_000, drained[0]);
+    }
+
+    @Test
+    public void test_03_list_can_be_used_as_sink() {
+
+        List<String> results = new ArrayList<>();
+        ResultSink<String> sink = results::add;
+
+        Arrays.asList("a", "b").forEach(sink::publish);
+        assertEquals(Arrays.asList("a", "b"), results);
+    }
+
+    @Test
+    public void test_04_buffers_of_terminated_threads_are_dropped() throws InterruptedException {
+
+        ResultCollector<Integer> collector = new ResultCollector<>();
+        for (int i = 0; i < 3; i++) {
+            int result = i;
+            Thread producer = new Thread(() -> collector.publish(result));
+            producer.start();
+            producer.join();
+        }
+        collector.publish(42);
+        assertEquals(4, collector.bufferCount());
+
+        assertEquals(4, collector.drain(result -> {
+        }));
+        assertEquals(1, collector.bufferCount());
+        collector.publish(43);
+        assertEquals(Collections.singletonList(43), collector.drainToList());
+    }
+
+}
@@ -0,0 +1,143 @@
+package org.bajiepka.concurrency.configuration;
+
+import org.bajiepka.concurrency.metrics.TaskMetrics;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class ExecutorRegistryTests {
+
+    private ExecutorRegistry registry(ExecutorProperties.RejectionPolicy policy) {
+        ExecutorProperties.Pool pool = new ExecutorProperties.Pool();
+        pool.setCoreSize(1);
+        pool.setMaxSize(1);
+        pool.setQueueCapacity(1);
+        pool.setRejectionPolicy(policy);
+
+        ExecutorProperties properties = new ExecutorProperties();
+        properties.setShutdownTimeout(Duration.ofMillis(100));
+        properties.getPools().put("bounded", pool);
+        return new ExecutorRegistry(properties, new TaskMetrics());
+    }
+
+    @Test
+    public void test_01_bounded_pool_rejects_and_counts() throws InterruptedException {
+
+        ExecutorRegistry registry = registry(ExecutorProperties.RejectionPolicy.ABORT);
+        ExecutorService pool = registry.get("bounded");
+        CountDownLatch release = new CountDownLatch(1);
+
+        pool.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        pool.execute(() -> {
+        });
+        try {
+            pool.execute(() -> {
+            });
+            fail("queue should be full");
+        } catch (RejectedExecutionException expected) {
+        }
+
+        ExecutorRegistry.PoolStats stats = registry.stats().get("bounded");
+        assertEquals(1, stats.getActiveThreads());
+        assertEquals(1, stats.getQueueDepth());
+        assertEquals(1, stats.getRejectedTasks());
+
+        release.countDown();
+        registry.destroy();
+        assertTrue(pool.isTerminated());
+    }
+
+    @Test
+    public void test_02_same_name_returns_same_pool() throws InterruptedException {
+
+        ExecutorRegistry registry = registry(ExecutorProperties.RejectionPolicy.CALLER_RUNS);
+
+        assertSame(registry.get("bounded"), registry.get("bounded"));
+        registry.get("unknown");
+        assertEquals(2, registry.stats().size());
+        registry.destroy();
+    }
+
+    @Test
+    public void test_03_destroy_interrupts_tasks_after_timeout() throws InterruptedException {
+
+        ExecutorRegistry registry = registry(ExecutorProperties.RejectionPolicy.CALLER_RUNS);
+        ExecutorService pool = registry.get("bounded");
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        pool.execute(() -> {
+            try {
+                Thread.sleep(60_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        });
+
+        registry.destroy();
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void test_04_caller_runs_is_not_a_rejection() throws InterruptedException {
+
+        ExecutorRegistry registry = registry(ExecutorProperties.RejectionPolicy.CALLER_RUNS);
+        ExecutorService pool = registry.get("bounded");
+        CountDownLatch release = new CountDownLatch(1);
+        pool.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        pool.execute(() -> {
+        });
+
+        Thread[] runner = new Thread[1];
+        pool.execute(() -> runner[0] = Thread.currentThread());
+
+        assertSame(Thread.currentThread(), runner[0]);
+        ExecutorRegistry.PoolStats stats = registry.stats().get("bounded");
+        assertEquals(0, stats.getRejectedTasks());
+        assertEquals(1, stats.getCallerRunsTasks());
+        release.countDown();
+        registry.destroy();
+    }
+
+    @Test
+    public void test_05_callers_cannot_shut_down_and_destroyed_registry_hands_out_nothing()
+            throws InterruptedException {
+
+        ExecutorRegistry registry = registry(ExecutorProperties.RejectionPolicy.ABORT);
+        ExecutorService pool = registry.get("bounded");
+
+        try {
+            pool.shutdown();
+            fail("the shared pool must not be shut down by a caller");
+        } catch (UnsupportedOperationException expected) {
+            assertFalse(pool.isShutdown());
+        }
+
+        registry.destroy();
+        assertTrue(pool.isShutdown());
+        try {
+            registry.get("bounded");
+            fail("a destroyed registry must not hand out pools");
+        } catch (IllegalStateException expected) {
+            assertEquals(1, registry.stats().size());
+        }
+    }
+
+}
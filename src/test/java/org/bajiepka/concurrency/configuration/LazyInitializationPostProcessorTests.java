@@ -0,0 +1,42 @@
+package org.bajiepka.concurrency.configuration;
+
+import org.junit.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import static org.junit.Assert.*;
+
+public class LazyInitializationPostProcessorTests {
+
+    @Test
+    public void test_01_only_plain_application_beans_become_lazy() {
+
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("plain", new RootBeanDefinition(Plain.class));
+        beanFactory.registerBeanDefinition("scheduled", new RootBeanDefinition(WithScheduledMethod.class));
+        beanFactory.registerBeanDefinition("spring", new RootBeanDefinition(ThreadPoolTaskScheduler.class));
+
+        LazyInitializationPostProcessor postProcessor = new LazyInitializationPostProcessor();
+        postProcessor.setEnvironment(new MockEnvironment()
+                .withProperty("concurrency.startup.lazy-initialization", "true"));
+        postProcessor.postProcessBeanFactory(beanFactory);
+
+        assertTrue(beanFactory.getBeanDefinition("plain").isLazyInit());
+        assertFalse(beanFactory.getBeanDefinition("scheduled").isLazyInit());
+        assertFalse(beanFactory.getBeanDefinition("spring").isLazyInit());
+    }
+
+    public static class Plain {
+    }
+
+    public static class WithScheduledMethod {
+
+        @Scheduled(fixedDelay = 1_000)
+        public void tick() {
+        }
+    }
+
+}
@@ -0,0 +1,74 @@
+package org.bajiepka.concurrency.executor;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class DispatchingScheduledExecutorServiceTests {
+
+    @Test
+    public void test_01_cancel_racing_with_rearm_stops_the_new_timeout() throws Exception {
+
+        ManualTimer executor = new ManualTimer();
+        CountDownLatch rearmed = new CountDownLatch(1);
+        ScheduledFuture<?> future = executor.scheduleAtFixedRate(() -> {
+        }, 0, 1, TimeUnit.HOURS);
+        executor.onArm = () -> {
+            future.cancel(false);
+            rearmed.countDown();
+        };
+
+        executor.triggers.get(0).run();
+
+        assertTrue(rearmed.await(1, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+        assertTrue(future.isCancelled());
+        assertEquals(0, executor.activeTimeouts.get());
+        assertEquals(0, executor.getPendingTaskCount());
+    }
+
+    /**
+     * Timer that only records what was armed, triggers are fired by the test.
+     */
+    private static class ManualTimer extends DispatchingScheduledExecutorService {
+
+        private final List<Runnable> triggers = new CopyOnWriteArrayList<>();
+        private final AtomicInteger activeTimeouts = new AtomicInteger();
+        private volatile Runnable onArm = () -> {
+        };
+
+        private ManualTimer() {
+            super(Executors.newSingleThreadExecutor());
+        }
+
+        @Override
+        protected Timeout arm(Runnable trigger, long delayNanos) {
+            triggers.add(trigger);
+            activeTimeouts.incrementAndGet();
+            onArm.run();
+            AtomicBoolean done = new AtomicBoolean();
+            return () -> {
+                if (done.compareAndSet(false, true)) {
+                    activeTimeouts.decrementAndGet();
+                    return true;
+                }
+                return false;
+            };
+        }
+
+        @Override
+        protected void stopTimer() {
+        }
+
+        @Override
+        protected boolean awaitTimer(long timeout, TimeUnit unit) {
+            return true;
+        }
+    }
+}
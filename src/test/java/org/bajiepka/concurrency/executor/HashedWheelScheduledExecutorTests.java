@@ -0,0 +1,75 @@
+package org.bajiepka.concurrency.executor;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+public class HashedWheelScheduledExecutorTests {
+
+    private HashedWheelScheduledExecutor newExecutor(int ticksPerWheel) {
+        return new HashedWheelScheduledExecutor("test", 5, TimeUnit.MILLISECONDS, ticksPerWheel,
+                Executors.newFixedThreadPool(2));
+    }
+
+    @Test
+    public void test_01_timeout_fires_not_before_its_delay() throws Exception {
+
+        HashedWheelScheduledExecutor executor = newExecutor(8);
+        long start = System.nanoTime();
+
+        ScheduledFuture<Long> future = executor.schedule(System::nanoTime, 30, TimeUnit.MILLISECONDS);
+
+        assertTrue(future.get(1, TimeUnit.SECONDS) - start >= TimeUnit.MILLISECONDS.toNanos(30));
+        executor.shutdown();
+    }
+
+    @Test
+    public void test_02_delays_longer_than_one_revolution_wait_for_their_round() throws Exception {
+
+        HashedWheelScheduledExecutor executor = newExecutor(4);
+        long start = System.nanoTime();
+
+        ScheduledFuture<Long> future = executor.schedule(System::nanoTime, 100, TimeUnit.MILLISECONDS);
+
+        assertTrue(future.get(1, TimeUnit.SECONDS) - start >= TimeUnit.MILLISECONDS.toNanos(100));
+        executor.shutdown();
+    }
+
+    @Test
+    public void test_03_cancelled_timeouts_never_fire() throws Exception {
+
+        HashedWheelScheduledExecutor executor = newExecutor(64);
+        List<ScheduledFuture<Integer>> futures = IntStream.range(0, 10_000)
+                .mapToObj(i -> executor.schedule(() -> i, 20, TimeUnit.MILLISECONDS))
+                .collect(Collectors.toList());
+
+        futures.stream().filter(future -> future.hashCode() % 2 == 0).forEach(future -> future.cancel(false));
+        Thread.sleep(100);
+
+        for (ScheduledFuture<Integer> future : futures) {
+            assertTrue(future.isDone());
+        }
+        assertEquals(0, executor.getPendingTaskCount());
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void test_04_fixed_delay_task_repeats() throws Exception {
+
+        HashedWheelScheduledExecutor executor = newExecutor(16);
+        CountDownLatch runs = new CountDownLatch(3);
+
+        ScheduledFuture<?> future = executor.scheduleWithFixedDelay(runs::countDown, 0, 5, TimeUnit.MILLISECONDS);
+
+        assertTrue(runs.await(1, TimeUnit.SECONDS));
+        future.cancel(false);
+        executor.shutdown();
+    }
+
+}
@@ -0,0 +1,47 @@
+package org.bajiepka.concurrency.executor;
+
+import org.bajiepka.concurrency.metrics.TaskMetrics;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class InstrumentingTaskDecoratorTests {
+
+    @Test
+    public void test_01_records_queue_wait_and_run_time() throws InterruptedException {
+
+        TaskMetrics metrics = new TaskMetrics();
+        InstrumentingTaskDecorator decorator = new InstrumentingTaskDecorator(metrics, "pool");
+
+        Runnable task = decorator.decorate(new RunnableInvoker());
+        Thread.sleep(20);
+        task.run();
+
+        TaskMetrics.Snapshot snapshot = metrics.snapshot().get("pool/RunnableInvoker");
+        assertEquals(1, snapshot.getRunTimeNanos().getCount());
+        assertTrue(snapshot.getQueueWaitNanos().getMax() >= TimeUnit.MILLISECONDS.toNanos(20));
+        assertEquals(0, snapshot.getFailures());
+    }
+
+    @Test
+    public void test_02_counts_failures_and_names_lambdas_after_declaring_class() {
+
+        TaskMetrics metrics = new TaskMetrics();
+        InstrumentingTaskDecorator decorator = new InstrumentingTaskDecorator(metrics, "pool");
+
+        try {
+            decorator.decorate(() -> {
+                throw new IllegalStateException("boom");
+            }).run();
+            fail("failure must be rethrown");
+        } catch (IllegalStateException expected) {
+        }
+
+        Map<String, TaskMetrics.Snapshot> snapshot = metrics.snapshot();
+        assertEquals(1, snapshot.get("pool/InstrumentingTaskDecoratorTests").getFailures());
+    }
+
+}
@@ -0,0 +1,79 @@
+package org.bajiepka.concurrency.executor;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+public class PhasedCoordinatorTests {
+
+    @Test
+    public void test_01_phase_collects_every_result() throws Exception {
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        PhasedCoordinator coordinator = new PhasedCoordinator(pool);
+
+        List<Integer> results = coordinator.runPhase("squares",
+                Arrays.<Callable<Integer>>asList(() -> 1, () -> 4, () -> 9), 1, TimeUnit.SECONDS);
+
+        assertEquals(3, results.size());
+        assertEquals(14, results.stream().mapToInt(Integer::intValue).sum());
+        assertEquals(1, coordinator.getCompletedPhases());
+        pool.shutdown();
+    }
+
+    @Test
+    public void test_02_tasks_can_join_a_running_phase() throws Exception {
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        PhasedCoordinator coordinator = new PhasedCoordinator(pool);
+        PhasedCoordinator.Phase<String> phase = coordinator.newPhase("dynamic");
+
+        phase.submit(() -> {
+            Thread.sleep(20);
+            phase.submit(() -> {
+                Thread.sleep(20);
+                return "child";
+            });
+            return "parent";
+        });
+
+        List<String> results = phase.await(1, TimeUnit.SECONDS);
+        assertEquals(2, results.size());
+        assertTrue(results.contains("child"));
+        pool.shutdown();
+    }
+
+    @Test
+    public void test_03_phase_times_out_and_reports_failures() throws Exception {
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        PhasedCoordinator coordinator = new PhasedCoordinator(pool);
+        PhasedCoordinator.Phase<Void> phase = coordinator.newPhase("slow");
+        CountDownLatch release = new CountDownLatch(1);
+
+        phase.submit(() -> {
+            throw new IllegalStateException("boom");
+        });
+        phase.submit(() -> {
+            release.await();
+            return null;
+        });
+
+        try {
+            phase.await(50, TimeUnit.MILLISECONDS);
+            fail("phase should time out");
+        } catch (TimeoutException expected) {
+            assertEquals(1, phase.getUnfinishedTasks());
+        }
+        assertEquals(1, phase.getFailures().size());
+        assertEquals(0, coordinator.getCompletedPhases());
+
+        release.countDown();
+        pool.shutdown();
+    }
+
+}
@@ -0,0 +1,79 @@
+package org.bajiepka.concurrency.executor;
+
+import org.junit.Test;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class VirtualThreadScheduledExecutorTests {
+
+    @Test
+    public void test_01_delayed_callable_completes() throws Exception {
+
+        VirtualThreadScheduledExecutor executor = new VirtualThreadScheduledExecutor("test");
+        long start = System.nanoTime();
+
+        ScheduledFuture<Integer> future = executor.schedule(() -> 10 * 12, 50, TimeUnit.MILLISECONDS);
+
+        assertEquals(120, (int) future.get(1, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+        executor.shutdown();
+    }
+
+    @Test
+    public void test_02_blocking_tasks_do_not_queue_up() throws Exception {
+
+        VirtualThreadScheduledExecutor executor = new VirtualThreadScheduledExecutor("test");
+        CountDownLatch started = new CountDownLatch(100);
+        CountDownLatch release = new CountDownLatch(1);
+
+        for (int i = 0; i < 100; i++) {
+            executor.submit(() -> {
+                started.countDown();
+                release.await();
+                return null;
+            });
+        }
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        release.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void test_03_periodic_task_runs_until_cancelled() throws Exception {
+
+        VirtualThreadScheduledExecutor executor = new VirtualThreadScheduledExecutor("test");
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch threeRuns = new CountDownLatch(3);
+
+        ScheduledFuture<?> future = executor.scheduleAtFixedRate(() -> {
+            runs.incrementAndGet();
+            threeRuns.countDown();
+        }, 0, 10, TimeUnit.MILLISECONDS);
+
+        assertTrue(threeRuns.await(1, TimeUnit.SECONDS));
+        assertTrue(future.cancel(false));
+        int afterCancel = runs.get();
+        Thread.sleep(50);
+        assertTrue(runs.get() <= afterCancel + 1);
+        assertEquals(0, executor.getPendingTaskCount());
+        executor.shutdown();
+    }
+
+    @Test
+    public void test_04_shutdown_cancels_pending_tasks() {
+
+        VirtualThreadScheduledExecutor executor = new VirtualThreadScheduledExecutor("test");
+        ScheduledFuture<?> future = executor.schedule(() -> {
+        }, 1, TimeUnit.HOURS);
+
+        assertEquals(1, executor.shutdownNow().size());
+        assertTrue(future.isCancelled());
+        assertTrue(executor.isShutdown());
+    }
+
+}
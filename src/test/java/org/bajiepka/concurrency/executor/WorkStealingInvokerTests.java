@@ -0,0 +1,99 @@
+package org.bajiepka.concurrency.executor;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+public class WorkStealingInvokerTests {
+
+    @Test
+    public void test_01_all_tasks_are_executed() throws InterruptedException {
+
+        WorkStealingInvoker invoker = new WorkStealingInvoker(4, 64);
+        AtomicInteger counter = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(1_000);
+
+        IntStream.range(0, 1_000).forEach(i -> invoker.execute(() -> {
+            counter.incrementAndGet();
+            done.countDown();
+        }));
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(1_000, counter.get());
+
+        invoker.shutdown();
+        assertTrue(invoker.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void test_02_batch_is_stolen_by_idle_workers() throws InterruptedException {
+
+        WorkStealingInvoker invoker = new WorkStealingInvoker(4, 64);
+        CountDownLatch done = new CountDownLatch(40);
+
+        List<Runnable> batch = IntStream.range(0, 40)
+                .mapToObj(i -> (Runnable) () -> {
+                    try {
+                        Thread.sleep(10);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    done.countDown();
+                })
+                .collect(Collectors.toList());
+        invoker.executeAll(batch);
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertTrue(invoker.getStealCount() > 0);
+        invoker.shutdown();
+    }
+
+    @Test
+    public void test_03_caller_runs_when_saturated() throws InterruptedException {
+
+        WorkStealingInvoker invoker = new WorkStealingInvoker(1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        invoker.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        invoker.execute(() -> {
+        });
+
+        Thread caller = Thread.currentThread();
+        AtomicInteger ranOnCaller = new AtomicInteger();
+        while (ranOnCaller.get() == 0) {
+            invoker.execute(() -> {
+                if (Thread.currentThread() == caller) {
+                    ranOnCaller.incrementAndGet();
+                }
+            });
+        }
+
+        assertTrue(invoker.getCallerRunsCount() > 0);
+        release.countDown();
+        invoker.shutdown();
+    }
+
+    @Test(expected = RejectedExecutionException.class)
+    public void test_04_rejects_after_shutdown() {
+
+        WorkStealingInvoker invoker = new WorkStealingInvoker(1, 1);
+        invoker.shutdown();
+        invoker.execute(() -> {
+        });
+    }
+
+}
@@ -0,0 +1,44 @@
+package org.bajiepka.concurrency.metrics;
+
+import org.junit.Test;
+
+import java.util.stream.LongStream;
+
+import static org.junit.Assert.*;
+
+public class HistogramTests {
+
+    @Test
+    public void test_01_small_values_are_exact() {
+
+        Histogram histogram = new Histogram();
+        LongStream.rangeClosed(1, 10).forEach(histogram::record);
+
+        assertEquals(10, histogram.getCount());
+        assertEquals(5, histogram.getValueAtPercentile(50));
+        assertEquals(10, histogram.getValueAtPercentile(100));
+        assertEquals(5.5, histogram.getMean(), 0.0001);
+    }
+
+    @Test
+    public void test_02_percentiles_stay_within_relative_error() {
+
+        Histogram histogram = new Histogram();
+        LongStream.rangeClosed(1, 1_000_000).forEach(histogram::record);
+
+        assertEquals(500_000, histogram.getValueAtPercentile(50), 500_000 * 0.035);
+        assertEquals(990_000, histogram.getValueAtPercentile(99), 990_000 * 0.035);
+        assertEquals(1_000_000, histogram.getMax());
+    }
+
+    @Test
+    public void test_03_bucket_bounds_cover_every_value() {
+
+        LongStream.of(0, 31, 32, 33, 64, 65, 1_000, 123_456_789, Long.MAX_VALUE).forEach(value -> {
+            int index = Histogram.indexOf(value);
+            assertTrue(Histogram.highestValueOf(index) >= value);
+            assertTrue(index == 0 || Histogram.highestValueOf(index - 1) < value);
+        });
+    }
+
+}
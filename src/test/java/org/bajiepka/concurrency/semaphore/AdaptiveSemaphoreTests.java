@@ -0,0 +1,120 @@
+package org.bajiepka.concurrency.semaphore;
+
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class AdaptiveSemaphoreTests {
+
+    @Test
+    public void test_01_limit_grows_while_latency_is_stable() {
+
+        AdaptiveSemaphore semaphore = new AdaptiveSemaphore(3, 1, 10);
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(semaphore.tryAcquire());
+        }
+        assertFalse(semaphore.tryAcquire());
+        assertEquals(1, semaphore.getRejections());
+
+        for (int i = 0; i < 5; i++) {
+            semaphore.onSample(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+
+        assertEquals(7, semaphore.getLimit());
+        assertEquals(4, semaphore.availablePermits());
+        assertEquals(3, semaphore.getInFlight());
+    }
+
+    @Test
+    public void test_02_limit_backs_off_on_slow_samples() {
+
+        AdaptiveSemaphore semaphore = new AdaptiveSemaphore(10, 2, 10);
+
+        semaphore.onSample(TimeUnit.MILLISECONDS.toNanos(1));
+        semaphore.onSample(TimeUnit.MILLISECONDS.toNanos(10));
+        assertEquals(9, semaphore.getLimit());
+        assertEquals(9, semaphore.availablePermits());
+
+        for (int i = 0; i < 50; i++) {
+            semaphore.onSample(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        assertEquals(2, semaphore.getLimit());
+    }
+
+    @Test
+    public void test_03_acquire_release_keeps_permits_consistent() throws InterruptedException {
+
+        AdaptiveSemaphore semaphore = new AdaptiveSemaphore(3, 1, 3);
+
+        semaphore.acquire();
+        semaphore.acquire();
+        assertEquals(2, semaphore.getInFlight());
+        semaphore.release();
+        semaphore.release();
+
+        assertEquals(0, semaphore.getInFlight());
+        assertEquals(semaphore.getLimit(), semaphore.availablePermits());
+    }
+
+    @Test
+    public void test_04_release_on_another_thread_is_sampled() throws Exception {
+
+        AdaptiveSemaphore semaphore = new AdaptiveSemaphore(3, 1, 3);
+
+        semaphore.acquire();
+        CompletableFuture.runAsync(semaphore::release).get();
+
+        assertEquals(0, semaphore.getInFlight());
+        assertTrue(semaphore.getMinLatencyNanos() > 0);
+        assertEquals(3, semaphore.availablePermits());
+    }
+
+    @Test
+    public void test_05_unmatched_release_is_refused() {
+
+        AdaptiveSemaphore semaphore = new AdaptiveSemaphore(3, 1, 3);
+
+        try {
+            semaphore.release();
+            fail("Expected a release without acquire to be refused");
+        } catch (IllegalStateException expected) {
+            assertEquals(0, semaphore.getInFlight());
+        }
+        assertTrue(semaphore.tryAcquire(2));
+        try {
+            semaphore.release(3);
+            fail("Expected a release of more permits than held to be refused");
+        } catch (IllegalStateException expected) {
+            assertEquals(2, semaphore.getInFlight());
+        }
+    }
+
+    @Test
+    public void test_06_multiple_permits_are_accounted_one_by_one() throws InterruptedException {
+
+        AdaptiveSemaphore semaphore = new AdaptiveSemaphore(4, 1, 4);
+
+        assertTrue(semaphore.tryAcquire(2));
+        assertFalse(semaphore.tryAcquire(3, 10, TimeUnit.MILLISECONDS));
+        assertEquals(1, semaphore.getRejections());
+        semaphore.acquire(1);
+        assertEquals(3, semaphore.getInFlight());
+
+        semaphore.release(3);
+        assertEquals(0, semaphore.getInFlight());
+        assertTrue(semaphore.getMinLatencyNanos() > 0);
+        assertEquals(semaphore.getLimit(), semaphore.availablePermits());
+
+        int drained = semaphore.drainPermits();
+        assertEquals(semaphore.getLimit(), drained);
+        assertEquals(drained, semaphore.getInFlight());
+        assertEquals(0, semaphore.drainPermits());
+        semaphore.release(drained);
+        assertEquals(semaphore.getLimit(), semaphore.availablePermits());
+    }
+
+}
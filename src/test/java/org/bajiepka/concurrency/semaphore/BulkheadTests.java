@@ -0,0 +1,78 @@
+package org.bajiepka.concurrency.semaphore;
+
+import org.junit.Test;
+
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+public class BulkheadTests {
+
+    @Test
+    public void test_01_call_releases_permit_even_on_failure() throws Exception {
+
+        Bulkhead bulkhead = new Bulkhead("test", new Semaphore(1));
+
+        assertEquals("ok", bulkhead.call(() -> "ok"));
+        try {
+            bulkhead.call(() -> {
+                throw new IllegalStateException("boom");
+            });
+            fail("failure must be rethrown");
+        } catch (IllegalStateException expected) {
+        }
+
+        assertEquals(1, bulkhead.getAvailablePermits());
+        assertEquals(2, bulkhead.getAccepted());
+        assertEquals(1, bulkhead.getFailed());
+    }
+
+    @Test
+    public void test_02_saturated_bulkhead_falls_back_and_rejects() throws Exception {
+
+        Bulkhead bulkhead = new Bulkhead("test", new Semaphore(1));
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> slow = bulkhead.callAsync(() -> {
+            started.countDown();
+            release.await();
+            return "slow";
+        }, pool);
+        started.await();
+
+        assertEquals(1.0, bulkhead.getSaturation(), 0.0);
+        assertEquals("fallback", bulkhead.tryCall(() -> "fast", () -> "fallback"));
+        try {
+            bulkhead.callAsync(() -> "fast", pool).get(1, TimeUnit.SECONDS);
+            fail("bulkhead is full");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof RejectedExecutionException);
+        }
+
+        release.countDown();
+        assertEquals("slow", slow.get(1, TimeUnit.SECONDS));
+        assertEquals(2, bulkhead.getRejected());
+        assertEquals(1, bulkhead.getPeakInFlight());
+        pool.shutdown();
+    }
+
+    @Test
+    public void test_03_stats_are_a_detached_snapshot() throws Exception {
+
+        Bulkhead bulkhead = new Bulkhead("test", new Semaphore(2));
+        bulkhead.call(() -> "ok");
+        bulkhead.tryCall(() -> "ok", () -> "fallback");
+
+        Bulkhead.Stats stats = bulkhead.stats();
+        bulkhead.call(() -> "ok");
+
+        assertEquals(2, stats.getAvailablePermits());
+        assertEquals(2, stats.getAccepted());
+        assertEquals(2, stats.getAcquireWaitNanos().getCount());
+        assertTrue(stats.getAcquireWaitNanos().getP99() <= stats.getAcquireWaitNanos().getMax());
+        assertEquals(3, bulkhead.stats().getAcquireWaitNanos().getCount());
+    }
+
+}
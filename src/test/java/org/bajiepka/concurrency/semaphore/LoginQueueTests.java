@@ -0,0 +1,86 @@
+package org.bajiepka.concurrency.semaphore;
+
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class LoginQueueTests {
+
+    @Test
+    public void test_01_waiters_are_admitted_in_fifo_order() {
+
+        LoginQueueUsingSemaphore queue = new LoginQueueUsingSemaphore(1);
+        assertTrue(queue.tryLogin());
+
+        CompletableFuture<Void> first = queue.loginAsync();
+        CompletableFuture<Void> second = queue.loginAsync();
+        assertEquals(2, queue.getQueueLength());
+        assertFalse(queue.tryLogin());
+
+        queue.logout();
+        assertTrue(first.isDone());
+        assertFalse(second.isDone());
+
+        queue.logout();
+        assertTrue(second.isDone());
+        assertEquals(0, queue.getQueueLength());
+        assertEquals(2, queue.getWaitTimeNanos().getCount());
+        assertEquals(2, queue.getQueueDepth().getValueAtPercentile(100));
+    }
+
+    @Test
+    public void test_02_timed_login_gives_up_its_place() throws InterruptedException {
+
+        LoginQueueUsingSemaphore queue = new LoginQueueUsingSemaphore(1);
+        assertTrue(queue.tryLogin());
+
+        assertFalse(queue.tryLogin(20, TimeUnit.MILLISECONDS));
+        assertEquals(0, queue.getQueueLength());
+
+        queue.logout();
+        assertEquals(1, queue.availableSlots());
+    }
+
+    @Test
+    public void test_03_timed_login_succeeds_when_slot_is_freed() throws InterruptedException {
+
+        LoginQueueUsingSemaphore queue = new LoginQueueUsingSemaphore(1);
+        assertTrue(queue.tryLogin());
+
+        CompletableFuture.runAsync(() -> {
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            queue.logout();
+        });
+
+        assertTrue(queue.tryLogin(5, TimeUnit.SECONDS));
+        assertEquals(0, queue.availableSlots());
+    }
+
+    @Test
+    public void test_04_full_queue_rejects() throws InterruptedException {
+
+        LoginQueueUsingSemaphore queue = new LoginQueueUsingSemaphore(1, 1);
+        assertTrue(queue.tryLogin());
+
+        queue.loginAsync();
+        CompletableFuture<Void> rejected = queue.loginAsync();
+
+        try {
+            rejected.get();
+            fail("queue should be full");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof RejectedExecutionException);
+        }
+        assertEquals(1, queue.getRejectedCount());
+    }
+
+}
@@ -0,0 +1,61 @@
+package org.bajiepka.concurrency.semaphore;
+
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+public class StripedPermitPoolTests {
+
+    @Test
+    public void test_01_permits_are_spread_over_stripes() {
+
+        StripedPermitPool pool = new StripedPermitPool(10, 3);
+
+        assertEquals(4, pool.stripes());
+        assertEquals(10, pool.available());
+    }
+
+    @Test
+    public void test_02_single_thread_drains_every_stripe() {
+
+        StripedPermitPool pool = new StripedPermitPool(10, 4);
+
+        IntStream.range(0, 10).forEach(i -> assertTrue(pool.tryAcquire()));
+        assertFalse(pool.tryAcquire());
+        assertEquals(0, pool.available());
+
+        pool.release();
+        assertTrue(pool.tryAcquire());
+    }
+
+    @Test
+    public void test_03_permits_are_conserved_under_contention() throws InterruptedException {
+
+        StripedPermitPool pool = new StripedPermitPool(8, 4);
+        AtomicInteger holders = new AtomicInteger();
+        AtomicInteger maxHolders = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+
+        IntStream.range(0, 16).forEach(i -> executor.execute(() -> {
+            for (int j = 0; j < 10_000; j++) {
+                if (pool.tryAcquire()) {
+                    maxHolders.accumulateAndGet(holders.incrementAndGet(), Math::max);
+                    holders.decrementAndGet();
+                    pool.release();
+                }
+            }
+        }));
+        executor.shutdown();
+
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertTrue(maxHolders.get() <= 8);
+        assertEquals(8, pool.available());
+    }
+
+}